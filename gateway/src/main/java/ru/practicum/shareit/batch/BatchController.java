@@ -0,0 +1,187 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.exception.handler.ErrorResponse;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Runs several read sub-requests of one user in parallel through the regular clients. Only GETs are accepted:
+ * writes would skip the DTO validation the gateway controllers apply. The paging and state parameters of GETs are
+ * checked here the same way the controllers check them, and each sub-request is charged as one read against the
+ * user's rate limit (the batch itself is excluded from {@code RateLimitInterceptor}).
+ */
+@Slf4j
+@Controller
+@RequestMapping("/batch")
+public class BatchController {
+    private static final Set<String> STATE_PATHS = Set.of("/bookings", "/bookings/owner");
+
+    private final Map<String, BaseClient> clients;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final RateLimiter rateLimiter;
+    private final boolean rateLimited;
+
+    public BatchController(ItemClient itemClient, UserClient userClient, BookingClient bookingClient,
+                           ItemRequestClient itemRequestClient, ObjectMapper objectMapper,
+                           @Value("${shareit.batch.max-size:20}") int maxSize,
+                           RateLimiter rateLimiter,
+                           @Value("${shareit.rate-limit.enabled:false}") boolean rateLimited) {
+        this.clients = Map.of(
+                "/items", itemClient,
+                "/users", userClient,
+                "/bookings", bookingClient,
+                "/requests", itemRequestClient
+        );
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.rateLimiter = rateLimiter;
+        this.rateLimited = rateLimited;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> execute(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestBody List<BatchRequestDto> requests) {
+        if (requests.isEmpty() || requests.size() > maxSize)
+            throw new ValidationException(String.format("Количество запросов должно быть от 1 до %d", maxSize));
+        if (requests.stream().anyMatch(request -> request.getMethod() == null || request.getPath() == null))
+            throw new ValidationException("Не указан метод или путь запроса");
+        log.info("Получен пакет из {} запросов от пользователя с id {}", requests.size(), userId);
+        return Flux.fromIterable(requests)
+                .flatMapSequential(request -> execute(userId, request)
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .map(ResponseEntity::<Object>ok);
+    }
+
+    private Mono<BatchResponseDto> execute(Long userId, BatchRequestDto request) {
+        long wait = rateLimited ? rateLimiter.tryAcquire(String.valueOf(userId), false) : 0;
+        if (wait > 0) {
+            return Mono.just(error(HttpStatus.TOO_MANY_REQUESTS, String.format(
+                    "Слишком много запросов от пользователя %s, повторите через %d с", userId, RateLimiter.retryAfterSeconds(wait))));
+        }
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            return Mono.just(error(HttpStatus.METHOD_NOT_ALLOWED, "В пакете поддерживаются только GET-запросы"));
+        }
+        UriComponents uri = UriComponentsBuilder.fromUriString(request.getPath()).build();
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        String prefix = clients.keySet().stream()
+                .filter(candidate -> path.equals(candidate) || path.startsWith(candidate + "/"))
+                .findFirst()
+                .orElse(null);
+        if (prefix == null || path.contains("{") || path.contains("}")) {
+            return Mono.just(error(HttpStatus.NOT_FOUND, "Неизвестный путь: " + request.getPath()));
+        }
+
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        uri.getQueryParams().forEach((name, values) -> values.forEach(value -> queryParams.add(
+                UriUtils.decode(name, StandardCharsets.UTF_8),
+                value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8))));
+        String invalid = validate(path, queryParams);
+        if (invalid != null) {
+            return Mono.just(error(HttpStatus.BAD_REQUEST, invalid));
+        }
+
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        Map<String, Object> parameters = new HashMap<>();
+        queryParams.forEach((name, values) -> values.forEach(value -> {
+            String key = "p" + parameters.size();
+            query.add(name + "={" + key + "}");
+            parameters.put(key, value);
+        }));
+        return clients.get(prefix).forward(path.substring(prefix.length()) + query, userId, parameters)
+                .map(response -> new BatchResponseDto(response.getStatusCodeValue(), toBody(response.getBody())))
+                .onErrorResume(e -> Mono.just(error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage())));
+    }
+
+    /**
+     * Applies the {@code @PositiveOrZero from}, {@code @Positive size} and {@link BookingState} checks of the GET
+     * endpoints and normalizes the state to the name the server expects.
+     *
+     * @return the error message, or null if the parameters are valid
+     */
+    private static String validate(String path, MultiValueMap<String, String> parameters) {
+        for (String from : parameters.getOrDefault("from", List.of())) {
+            if (!isAtLeast(from, 0)) {
+                return "Параметр from должен быть неотрицательным целым числом: " + from;
+            }
+        }
+        for (String size : parameters.getOrDefault("size", List.of())) {
+            if (!isAtLeast(size, 1)) {
+                return "Параметр size должен быть положительным целым числом: " + size;
+            }
+        }
+        if (STATE_PATHS.contains(path) && parameters.containsKey("state")) {
+            List<String> states = new ArrayList<>();
+            for (String stateParam : parameters.get("state")) {
+                Optional<BookingState> state = BookingState.from(stateParam);
+                if (state.isEmpty()) {
+                    return "Unknown state: " + stateParam;
+                }
+                states.add(state.get().name());
+            }
+            parameters.put("state", states);
+        }
+        return null;
+    }
+
+    private static boolean isAtLeast(String value, int min) {
+        try {
+            return Integer.parseInt(value) >= min;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Error bodies and passthrough responses arrive as raw JSON bytes; they are embedded as JSON, not base64.
+     */
+    private Object toBody(Object body) {
+        if (!(body instanceof byte[])) {
+            return body;
+        }
+        byte[] bytes = (byte[]) body;
+        if (bytes.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static BatchResponseDto error(HttpStatus status, String message) {
+        return new BatchResponseDto(status.value(), new ErrorResponse(message));
+    }
+}
@@ -1,16 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchanges;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,34 +18,29 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerExchanges exchanges) {
+        super(exchanges.create(API_PREFIX, "/items"));
     }
 
-    public ResponseEntity<Object> findAllByUser(Long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllByUser(Long userId, BookingState state, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return getPage("?state={state}&from={from}&size={size}", userId, parameters, cursor);
     }
 
 
-    public ResponseEntity<Object> create(Long userId, BookingAddDto bookingAddDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, BookingAddDto bookingAddDto) {
         return post("", userId, bookingAddDto);
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long bookingId, String approved) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long bookingId, String approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
@@ -53,12 +48,16 @@ public class BookingClient extends BaseClient {
         return patch(path, userId, parameters, null);
     }
 
-    public ResponseEntity<Object> findAllByOwner(Long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> updateAll(Long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
+
+    public Mono<ResponseEntity<Object>> findAllByOwner(Long userId, BookingState state, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return getPage("/owner?state={state}&from={from}&size={size}", userId, parameters, cursor);
     }
 }
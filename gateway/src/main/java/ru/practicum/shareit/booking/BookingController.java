@@ -1,11 +1,13 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.UnsupportedStatusException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -13,55 +15,74 @@ import ru.practicum.shareit.exception.ValidationException;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Controller
 @RequestMapping("/bookings")
-@RequiredArgsConstructor
 @Validated
 public class BookingController {
     private final BookingClient bookingClient;
+    private final int maxBatchSize;
+
+    public BookingController(BookingClient bookingClient,
+                             @Value("${shareit.bookings.batch.max-size:1000}") int maxBatchSize) {
+        this.bookingClient = bookingClient;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody BookingAddDto bookingAddDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @Valid @RequestBody BookingAddDto bookingAddDto) {
         if (bookingAddDto.getStart().isAfter(bookingAddDto.getEnd()) || bookingAddDto.getStart().equals(bookingAddDto.getEnd()))
             throw new ValidationException("Неверно указано время");
         return bookingClient.create(userId, bookingAddDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> update(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
-                                         @PathVariable(value = "bookingId") Long bookingId,
-                                         @RequestParam(value = "approved") String approved) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                              @PathVariable(value = "bookingId") Long bookingId,
+                                              @RequestParam(value = "approved") String approved) {
         return bookingClient.update(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> updateAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestBody List<BookingDecisionDto> decisions) {
+        if (decisions.isEmpty() || decisions.size() > maxBatchSize)
+            throw new ValidationException(String.format("Количество решений должно быть от 1 до %d", maxBatchSize));
+        if (decisions.stream().anyMatch(decision -> decision.getBookingId() == null || decision.getApproved() == null))
+            throw new ValidationException("Не указано бронирование или решение");
+        return bookingClient.updateAll(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                @PositiveOrZero
-                                                @RequestParam(name = "from", defaultValue = "0") int from,
-                                                @Positive
-                                                @RequestParam(name = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                     @PositiveOrZero
+                                                     @RequestParam(name = "from", defaultValue = "0") int from,
+                                                     @Positive
+                                                     @RequestParam(name = "size", defaultValue = "10") int size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        return bookingClient.findAllByUser(userId, state, from, size);
+        return bookingClient.findAllByUser(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                 @PositiveOrZero
-                                                 @RequestParam(name = "from", defaultValue = "0") int from,
-                                                 @Positive
-                                                 @RequestParam(name = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                      @PositiveOrZero
+                                                      @RequestParam(name = "from", defaultValue = "0") int from,
+                                                      @Positive
+                                                      @RequestParam(name = "size", defaultValue = "10") int size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        return bookingClient.findAllByOwner(userId, state, from, size);
+        return bookingClient.findAllByOwner(userId, state, from, size, cursor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+final class RequestKey {
+    private RequestKey() {
+    }
+
+    static String of(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        return headers.getFirst("X-Sharer-User-Id") + " " + path + " " + (parameters == null ? "" : new TreeMap<>(parameters));
+    }
+}
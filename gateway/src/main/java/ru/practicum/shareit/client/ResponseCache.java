@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches successful GET responses per API prefix, keyed by path, query parameters and the sharer user id.
+ * Any other request through a cached exchange clears its own region and the regions it declares as dependent.
+ */
+@Component
+public class ResponseCache {
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long maxSize;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${shareit-server.cache.enabled:false}") boolean enabled,
+                         @Value("${shareit-server.cache.ttl:30s}") Duration ttl,
+                         @Value("${shareit-server.cache.max-size:10000}") long maxSize,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServerExchange cached(String apiPrefix, ServerExchange exchange, String... invalidates) {
+        if (!enabled) {
+            return exchange;
+        }
+        Region region = region(apiPrefix);
+        List<String> dependents = List.of(invalidates);
+        return (method, path, headers, parameters, body) -> {
+            if (method != HttpMethod.GET) {
+                return exchange.exchange(method, path, headers, parameters, body)
+                        .doFinally(signal -> {
+                            region.invalidate();
+                            dependents.forEach(dependent -> region(dependent).invalidate());
+                        });
+            }
+            String key = RequestKey.of(path, headers, parameters);
+            ResponseEntity<Object> cached = region.cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long generation = region.generation.get();
+            return exchange.exchange(method, path, headers, parameters, body)
+                    .doOnNext(response -> {
+                        if (response.getStatusCode().is2xxSuccessful()) {
+                            region.cache.put(key, response);
+                            if (region.generation.get() != generation) {
+                                region.cache.invalidate(key);
+                            }
+                        }
+                    });
+        };
+    }
+
+    private Region region(String apiPrefix) {
+        return regions.computeIfAbsent(apiPrefix, name -> {
+            Cache<String, ResponseEntity<Object>> cache = Caffeine.newBuilder()
+                    .expireAfterWrite(ttl)
+                    .maximumSize(maxSize)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway" + name.replace('/', '.'));
+            return new Region(cache);
+        });
+    }
+
+    private static class Region {
+        private final Cache<String, ResponseEntity<Object>> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        private Region(Cache<String, ResponseEntity<Object>> cache) {
+            this.cache = cache;
+        }
+
+        private void invalidate() {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateExchangeFactory implements ServerExchangeFactory {
+    private final RestTemplateBuilder builder;
+    private final HttpComponentsClientHttpRequestFactory requestFactory;
+    private final boolean passthrough;
+
+    public RestTemplateExchangeFactory(RestTemplateBuilder builder, CloseableHttpClient serverHttpClient,
+                                       @Value("${shareit-server.passthrough:false}") boolean passthrough) {
+        this.builder = builder;
+        this.requestFactory = new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+        // write request bodies straight to the connection, so streamed imports are not copied into memory first
+        this.requestFactory.setBufferRequestBody(false);
+        this.passthrough = passthrough;
+    }
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        RestTemplate rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+        return (method, path, headers, parameters, body) -> Mono.fromCallable(() -> {
+            HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+            try {
+                if (passthrough) {
+                    ResponseEntity<byte[]> response = parameters != null
+                            ? rest.exchange(path, method, requestEntity, byte[].class, parameters)
+                            : rest.exchange(path, method, requestEntity, byte[].class);
+                    return ServerResponses.passthrough(response.getStatusCode(), response.getHeaders(), response.getBody());
+                }
+                if (parameters != null) {
+                    return rest.exchange(path, method, requestEntity, Object.class, parameters);
+                }
+                return rest.exchange(path, method, requestEntity, Object.class);
+            } catch (HttpStatusCodeException e) {
+                if (passthrough) {
+                    return ServerResponses.passthrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+                }
+                return ResponseEntity.status(e.getStatusCode()).<Object>body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the exchange used by a client: response cache, then request coalescing, then bulkhead and circuit
+ * breaker, then load balancing over the server instances, each with the configured transport.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerExchanges {
+    private final ServerExchangeFactory exchangeFactory;
+    private final ServerInstances instances;
+    private final WireFormat wireFormat;
+    private final ServerResilience resilience;
+    private final SingleFlight singleFlight;
+    private final ResponseCache responseCache;
+
+    /**
+     * @param apiPrefix   server path prefix of the client, also used as its cache region and endpoint group
+     * @param invalidates prefixes of other clients whose cached responses are cleared by this client's writes
+     */
+    public ServerExchange create(String apiPrefix, String... invalidates) {
+        return createGrouped(apiPrefix.substring(1), apiPrefix, invalidates);
+    }
+
+    /**
+     * Like {@link #create}, but guarded by the bulkhead and circuit breaker of {@code group} instead of the prefix's
+     * own, so calls with a different latency profile do not trip the breaker of the rest of the prefix.
+     */
+    public ServerExchange createGrouped(String group, String apiPrefix, String... invalidates) {
+        ServerExchange exchange = wireFormat.negotiated(instances.balanced(apiPrefix, exchangeFactory));
+        exchange = resilience.guarded(group, exchange);
+        exchange = singleFlight.coalesced(exchange);
+        return responseCache.cached(apiPrefix, exchange, invalidates);
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Server instances listed in {@code shareit-server.url}. Calls go to the healthy instance with the fewest
+ * outstanding requests; instances are ejected when their actuator health check or a call fails with an I/O error,
+ * and return once the health check passes again. GETs that fail with an I/O error are retried on other instances.
+ */
+@Slf4j
+@Component
+public class ServerInstances {
+    private final List<Instance> instances;
+    private final HttpClient healthClient;
+    private final ScheduledExecutorService healthChecker;
+
+    public ServerInstances(@Value("${shareit-server.url}") String serverUrls,
+                           @Value("${shareit-server.health-check.interval:5s}") Duration interval,
+                           @Value("${shareit-server.health-check.timeout:2s}") Duration timeout) {
+        this.instances = Arrays.stream(serverUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(Instance::new)
+                .collect(Collectors.toList());
+        this.healthClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (instances.size() > 1) {
+            healthChecker.scheduleWithFixedDelay(() -> checkHealth(timeout), 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public ServerExchange balanced(String apiPrefix, ServerExchangeFactory exchangeFactory) {
+        if (instances.size() == 1) {
+            return exchangeFactory.create(instances.get(0).url + apiPrefix);
+        }
+        Map<Instance, ServerExchange> exchanges = new HashMap<>();
+        for (Instance instance : instances) {
+            exchanges.put(instance, exchangeFactory.create(instance.url + apiPrefix));
+        }
+        return (method, path, headers, parameters, body) -> Mono.defer(() ->
+                call(exchanges, new HashSet<>(), method, path, headers, parameters, body));
+    }
+
+    private Mono<ResponseEntity<Object>> call(Map<Instance, ServerExchange> exchanges, Set<Instance> tried,
+                                              HttpMethod method, String path, HttpHeaders headers,
+                                              Map<String, Object> parameters, Object body) {
+        Instance instance = choose(tried);
+        tried.add(instance);
+        instance.outstanding.incrementAndGet();
+        return exchanges.get(instance).exchange(method, path, headers, parameters, body)
+                .doFinally(signal -> instance.outstanding.decrementAndGet())
+                .onErrorResume(e -> {
+                    if (!isIoFailure(e)) {
+                        return Mono.error(e);
+                    }
+                    eject(instance, e);
+                    if (method != HttpMethod.GET || tried.size() == instances.size()) {
+                        return Mono.error(e);
+                    }
+                    return call(exchanges, tried, method, path, headers, parameters, body);
+                });
+    }
+
+    private Instance choose(Set<Instance> tried) {
+        Instance best = null;
+        for (Instance instance : instances) {
+            if (!instance.healthy || tried.contains(instance)) {
+                continue;
+            }
+            if (best == null || instance.outstanding.get() < best.outstanding.get()) {
+                best = instance;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        // Nothing healthy is left to try: fall back to any untried instance rather than failing outright.
+        return instances.stream()
+                .filter(instance -> !tried.contains(instance))
+                .min(Comparator.comparingInt(instance -> instance.outstanding.get()))
+                .orElse(instances.get(0));
+    }
+
+    private void checkHealth(Duration timeout) {
+        for (Instance instance : instances) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(instance.url + "/actuator/health"))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            boolean healthy;
+            try {
+                healthy = healthClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                healthy = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (healthy != instance.healthy) {
+                log.info("Сервер {} {}", instance.url, healthy ? "снова доступен" : "не прошёл проверку доступности");
+            }
+            instance.healthy = healthy;
+        }
+    }
+
+    private void eject(Instance instance, Throwable e) {
+        if (instance.healthy) {
+            log.warn("Сервер {} исключён из балансировки: {}", instance.url, e.getMessage());
+        }
+        instance.healthy = false;
+    }
+
+    private static boolean isIoFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        healthChecker.shutdownNow();
+    }
+
+    private static class Instance {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Instance(String url) {
+            this.url = url;
+        }
+    }
+}
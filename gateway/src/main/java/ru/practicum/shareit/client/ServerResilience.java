@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs server calls of one endpoint group inside its bulkhead and circuit breaker. Server 5xx responses count as
+ * failures for the breaker but are still passed through to the caller unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerResilience {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ServerExchange guarded(String group, ServerExchange exchange) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(group);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(group);
+        return (method, path, headers, parameters, body) -> exchange.exchange(method, path, headers, parameters, body)
+                .flatMap(response -> response.getStatusCode().is5xxServerError()
+                        ? Mono.<ResponseEntity<Object>>error(new ServerErrorResponse(response))
+                        : Mono.just(response))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.getResponse()));
+    }
+
+    @Getter
+    private static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        private ServerErrorResponse(ResponseEntity<Object> response) {
+            super("Server responded with " + response.getStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+}
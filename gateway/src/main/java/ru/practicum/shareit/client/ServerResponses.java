@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+final class ServerResponses {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
+    private ServerResponses() {
+    }
+
+    /**
+     * Wraps the server's raw body with its status and end-to-end headers, so the gateway writes the bytes back
+     * as they came instead of parsing and re-serializing them.
+     */
+    static ResponseEntity<Object> passthrough(HttpStatus status, @Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+}
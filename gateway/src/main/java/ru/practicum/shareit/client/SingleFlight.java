@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lets concurrent identical GETs share one call to the server. Followers wait for the leader's response at most
+ * {@code maxWait} and then make their own call.
+ */
+@Component
+public class SingleFlight {
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final Counter coalesced;
+
+    public SingleFlight(@Value("${shareit-server.single-flight.enabled:true}") boolean enabled,
+                        @Value("${shareit-server.single-flight.max-wait:5s}") Duration maxWait,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWait = maxWait;
+        this.coalesced = Counter.builder("shareit.server.requests.coalesced")
+                .description("GET requests answered by another in-flight identical request")
+                .register(meterRegistry);
+    }
+
+    public ServerExchange coalesced(ServerExchange exchange) {
+        if (!enabled) {
+            return exchange;
+        }
+        Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+        return (method, path, headers, parameters, body) -> {
+            if (method != HttpMethod.GET) {
+                return exchange.exchange(method, path, headers, parameters, body);
+            }
+            String key = RequestKey.of(path, headers, parameters);
+            AtomicReference<Mono<ResponseEntity<Object>>> registered = new AtomicReference<>();
+            Mono<ResponseEntity<Object>> call = exchange.exchange(method, path, headers, parameters, body)
+                    .doFinally(signal -> inFlight.remove(key, registered.get()))
+                    .cache();
+            registered.set(call);
+            Mono<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, call);
+            if (leader == null) {
+                return call;
+            }
+            coalesced.increment();
+            return leader.timeout(maxWait, exchange.exchange(method, path, headers, parameters, body));
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+@EnableConfigurationProperties(ServerPoolProperties.class)
+public class WebClientExchangeFactory implements ServerExchangeFactory {
+    private final WebClient.Builder builder;
+    private final ReactorClientHttpConnector connector;
+    private final boolean passthrough;
+
+    public WebClientExchangeFactory(WebClient.Builder builder, ServerPoolProperties properties,
+                                    @Value("${shareit-server.passthrough:false}") boolean passthrough) {
+        this.builder = builder;
+        this.passthrough = passthrough;
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getLeaseTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .compress(true);
+        this.connector = new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        WebClient webClient = builder.clone()
+                .clientConnector(connector)
+                .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                .build();
+        return (method, path, headers, parameters, body) -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(requestHeaders -> requestHeaders.addAll(headers));
+            WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+            return spec.exchangeToMono(this::toEntity);
+        };
+    }
+
+    private Mono<ResponseEntity<Object>> toEntity(ClientResponse response) {
+        if (passthrough) {
+            return response.toEntity(byte[].class)
+                    .map(entity -> ServerResponses.passthrough(entity.getStatusCode(), entity.getHeaders(), entity.getBody()));
+        }
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class);
+        }
+        return response.toEntity(byte[].class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCode()).<Object>body(entity.getBody()));
+    }
+}
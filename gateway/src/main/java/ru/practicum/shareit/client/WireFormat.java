@@ -0,0 +1,68 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Asks the server for Smile instead of JSON when {@code shareit-server.wire-format=smile}. Responses are decoded
+ * by the gateway and written to clients as JSON, so the format is never used in passthrough mode, where server
+ * bytes would reach clients unchanged.
+ */
+@Component
+public class WireFormat {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private final boolean smile;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    public WireFormat(@Value("${shareit-server.wire-format:json}") String wireFormat,
+                      @Value("${shareit-server.passthrough:false}") boolean passthrough) {
+        this.smile = "smile".equals(wireFormat) && !passthrough;
+    }
+
+    public ServerExchange negotiated(ServerExchange exchange) {
+        if (!smile) {
+            return exchange;
+        }
+        return (method, path, headers, parameters, body) -> {
+            headers.setAccept(List.of(SMILE, MediaType.APPLICATION_JSON));
+            return exchange.exchange(method, path, headers, parameters, body)
+                    .map(this::decodeErrorBody);
+        };
+    }
+
+    /**
+     * Error bodies are kept as raw bytes by the transports; Smile ones are decoded here so clients still get JSON.
+     */
+    private ResponseEntity<Object> decodeErrorBody(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof byte[]) || !isSmile((byte[]) response.getBody())) {
+            return response;
+        }
+        try {
+            return ResponseEntity.status(response.getStatusCode())
+                    .body(smileMapper.readValue((byte[]) response.getBody(), Object.class));
+        } catch (IOException e) {
+            return response;
+        }
+    }
+
+    private static boolean isSmile(byte[] body) {
+        if (body.length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (body[i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,16 +1,15 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchanges;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -18,47 +17,50 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerExchanges exchanges) {
+        super(exchanges.create(API_PREFIX, "/requests", "/bookings"));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(Long userId, Long itemId) {
         String path = "/" + itemId;
         return get(path, userId);
     }
 
-    public ResponseEntity<Object> findAllByOwner(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllByOwner(Long userId, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return getPage("?from={from}&size={size}", userId, parameters, cursor);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long itemId, ItemDto itemDto) {
         String path = "/" + itemId;
         return patch(path, userId, itemDto);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end
+        );
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> search(Long userId, String text, int from, int size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getPage("/search?text={text}&from={from}&size={size}", userId, parameters, cursor);
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDto commentDto) {
         String path = "/" + itemId + "/comment";
         return post(path, userId, commentDto);
     }
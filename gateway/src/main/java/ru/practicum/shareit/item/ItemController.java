@@ -1,16 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 @Controller
 @RequiredArgsConstructor
@@ -18,43 +24,64 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class ItemController {
     private final ItemClient itemClient;
+    private final ItemImportClient itemImportClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @PositiveOrZero
-                                                 @RequestParam(defaultValue = "0") int from,
-                                                 @Positive
-                                                 @RequestParam(defaultValue = "10") int size) {
-        return itemClient.findAllByOwner(userId, from, size);
+    public Mono<ResponseEntity<Object>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @PositiveOrZero
+                                                      @RequestParam(defaultValue = "0") int from,
+                                                      @Positive
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) String cursor) {
+        return itemClient.findAllByOwner(userId, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody ItemDto itemDto) {
         return itemClient.create(userId, itemDto);
     }
 
+    /**
+     * Rows are not parsed here: the body is streamed to the server, which validates each row with the same rules
+     * as {@link ItemDto} and reports failures per row.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   InputStream body) {
+        return itemImportClient.importItems(userId, MediaType.parseMediaType(contentType), body);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemClient.getAvailability(userId, itemId, start, end);
+    }
+
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
-                                         @PositiveOrZero
-                                         @RequestParam(defaultValue = "0") int from,
-                                         @Positive
-                                         @RequestParam(defaultValue = "10") int size) {
-        return itemClient.search(userId, text, from, size);
+    public Mono<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
+                                              @PositiveOrZero
+                                              @RequestParam(defaultValue = "0") int from,
+                                              @Positive
+                                              @RequestParam(defaultValue = "10") int size,
+                                              @RequestParam(required = false) String cursor) {
+        return itemClient.search(userId, text, from, size, cursor);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
-                                                @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+                                                     @Valid @RequestBody CommentDto commentDto) {
         return itemClient.createComment(userId, itemId, commentDto);
     }
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchanges;
+
+import java.io.InputStream;
+
+/**
+ * Bulk imports stream for as long as the upload lasts, so they run in their own "items-import" bulkhead and circuit
+ * breaker instead of counting as slow calls against the one shared by all other item traffic.
+ */
+@Service
+public class ItemImportClient extends BaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemImportClient(ServerExchanges exchanges) {
+        super(exchanges.createGrouped("items-import", API_PREFIX, "/requests", "/bookings"));
+    }
+
+    public Mono<ResponseEntity<Object>> importItems(Long userId, MediaType contentType, InputStream body) {
+        return stream("/import", userId, contentType, new InputStreamResource(body));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String userId = request.getHeader("X-Sharer-User-Id");
+        String user = userId != null ? userId : "ip:" + request.getRemoteAddr();
+        boolean write = !HttpMethod.GET.matches(request.getMethod());
+        long wait = rateLimiter.tryAcquire(user, write);
+        if (wait > 0) {
+            throw new TooManyRequestsException(String.format("Слишком много запросов от пользователя %s", user),
+                    RateLimiter.retryAfterSeconds(wait));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user read and write token buckets. Users idle for longer than {@code idleTimeout} are evicted, and the
+ * number of tracked users is capped at {@code maxUsers}.
+ */
+@Component
+public class RateLimiter {
+    private final double readRate;
+    private final int readBurst;
+    private final double writeRate;
+    private final int writeBurst;
+    private final Cache<String, Buckets> users;
+
+    public RateLimiter(@Value("${shareit.rate-limit.read.rate:50}") double readRate,
+                       @Value("${shareit.rate-limit.read.burst:100}") int readBurst,
+                       @Value("${shareit.rate-limit.write.rate:10}") double writeRate,
+                       @Value("${shareit.rate-limit.write.burst:20}") int writeBurst,
+                       @Value("${shareit.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                       @Value("${shareit.rate-limit.max-users:1000000}") long maxUsers) {
+        this.readRate = readRate;
+        this.readBurst = readBurst;
+        this.writeRate = writeRate;
+        this.writeBurst = writeBurst;
+        this.users = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    /**
+     * @return 0 if the call is allowed, otherwise nanoseconds until the user may retry
+     */
+    public long tryAcquire(String user, boolean write) {
+        long now = System.nanoTime();
+        Buckets buckets = users.get(user, key -> new Buckets(
+                new TokenBucket(readRate, readBurst, now),
+                new TokenBucket(writeRate, writeBurst, now)));
+        return (write ? buckets.write : buckets.read).tryAcquire(now);
+    }
+
+    /**
+     * @return the wait returned by {@link #tryAcquire} rounded up to whole seconds, as sent in Retry-After
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static class Buckets {
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        private Buckets(TokenBucket read, TokenBucket write) {
+            this.read = read;
+            this.write = write;
+        }
+    }
+}
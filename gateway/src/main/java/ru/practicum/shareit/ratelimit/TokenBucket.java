@@ -0,0 +1,37 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (GCRA), so a permit is taken with one CAS and no lock.
+ */
+class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong arrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 if the permit was taken, otherwise nanoseconds until the next one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = arrival.get();
+            long theoretical = Math.max(current, nowNanos);
+            long wait = theoretical - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, theoretical + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
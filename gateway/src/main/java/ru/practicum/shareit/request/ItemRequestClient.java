@@ -2,13 +2,11 @@ package ru.practicum.shareit.request;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerExchanges;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 
 import java.util.Map;
@@ -20,33 +18,28 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerExchanges exchanges) {
+        super(exchanges.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestAddDto itemRequestAddDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestAddDto itemRequestAddDto) {
         return post("", userId, itemRequestAddDto);
     }
 
-    public ResponseEntity<Object> findAllByOwner(Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByOwner(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequest(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(Long userId, Long requestId) {
         String path = "/" + requestId;
         return get(path, userId);
     }
 
-    public ResponseEntity<Object> findAll(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findAll(Long userId, Integer from, Integer size, String cursor) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return getPage("/all?from={from}&size={size}", userId, parameters, cursor);
     }
 }
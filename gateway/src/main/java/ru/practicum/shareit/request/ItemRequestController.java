@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 
 import javax.validation.Valid;
@@ -19,27 +20,28 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody @Valid ItemRequestAddDto itemRequestAddDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody @Valid ItemRequestAddDto itemRequestAddDto) {
         return itemRequestClient.create(userId, itemRequestAddDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.findAllByOwner(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAll(
+    public Mono<ResponseEntity<Object>> findAll(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero
             @RequestParam(defaultValue = "0") int from,
             @Positive
-            @RequestParam(defaultValue = "10") int size) {
-        return itemRequestClient.findAll(userId, from, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        return itemRequestClient.findAll(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
         return itemRequestClient.getRequest(userId, requestId);
     }
 }
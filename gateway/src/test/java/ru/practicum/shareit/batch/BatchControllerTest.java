@@ -0,0 +1,93 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.exception.handler.ErrorHandler;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BatchControllerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemClient itemClient;
+    private BookingClient bookingClient;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void beforeEach() {
+        itemClient = mock(ItemClient.class);
+        bookingClient = mock(BookingClient.class);
+        when(itemClient.forward(anyString(), anyLong(), anyMap())).thenReturn(Mono.just(ResponseEntity.ok("item")));
+        when(bookingClient.forward(anyString(), anyLong(), anyMap())).thenReturn(Mono.just(ResponseEntity.ok("booking")));
+        RateLimiter rateLimiter = new RateLimiter(1, 2, 1, 1, Duration.ofMinutes(10), 100);
+        BatchController batchController = new BatchController(itemClient, mock(UserClient.class), bookingClient,
+                mock(ItemRequestClient.class), objectMapper, 20, rateLimiter, true);
+        mockMvc = MockMvcBuilders.standaloneSetup(batchController)
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    public void invalidPagingIsRejectedPerSubRequest() throws Exception {
+        execute(get("/items?from=0&size=0"), get("/items/search?text=drill&from=-1"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    public void unknownStateIsRejectedAndKnownStateIsNormalized() throws Exception {
+        execute(get("/bookings?state=FOO"), get("/bookings/owner?state=waiting&from=0&size=10"))
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[0].body.error").value("Unknown state: FOO"))
+                .andExpect(jsonPath("$[1].status").value(200));
+
+        verify(bookingClient).forward(eq("/owner?state={p0}&from={p1}&size={p2}"), eq(1L),
+                eq(Map.of("p0", "WAITING", "p1", "0", "p2", "10")));
+    }
+
+    @Test
+    public void eachSubRequestIsChargedAsRead() throws Exception {
+        execute(get("/items/1"), get("/items/2"), get("/items/3"))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(429));
+    }
+
+    private ResultActions execute(BatchRequestDto... requests) throws Exception {
+        MvcResult result = mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(requests))))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    private static BatchRequestDto get(String path) {
+        return BatchRequestDto.builder().method("GET").path(path).build();
+    }
+}
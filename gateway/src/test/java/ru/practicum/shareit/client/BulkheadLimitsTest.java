@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadLimitsTest {
+    private static final Set<String> GROUPS = Set.of("users", "items", "bookings", "requests", "items-import");
+    private static final String PREFIX = "resilience4j.bulkhead.instances.";
+    private static final String SUFFIX = ".max-concurrent-calls";
+
+    @Test
+    public void groupLimitsLeaveRequestThreads() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        Set<String> configured = new TreeSet<>();
+        int total = 0;
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                configured.add(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                total += Integer.parseInt(properties.getProperty(name));
+            }
+        }
+        int threads = Integer.parseInt(properties.getProperty("server.tomcat.threads.max"));
+
+        assertEquals(new TreeSet<>(GROUPS), configured);
+        assertTrue(total < threads,
+                String.format("Bulkheads allow %d concurrent calls with %d request threads", total, threads));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResponseCacheTest {
+    private ResponseCache responseCache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void beforeEach() {
+        responseCache = new ResponseCache(true, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void repeatedGetIsServedFromCache() {
+        ServerExchange exchange = responseCache.cached("/items", counting(ok("item")));
+
+        assertEquals("item", get(exchange, "/1", 1L).getBody());
+        assertEquals("item", get(exchange, "/1", 1L).getBody());
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void usersAndPathsAreCachedSeparately() {
+        ServerExchange exchange = responseCache.cached("/items", counting(ok("item")));
+
+        get(exchange, "/1", 1L);
+        get(exchange, "/1", 2L);
+        get(exchange, "/2", 1L);
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void errorResponsesAreNotCached() {
+        ServerExchange exchange = responseCache.cached("/items", counting(ResponseEntity.status(HttpStatus.NOT_FOUND).build()));
+
+        get(exchange, "/1", 1L);
+        get(exchange, "/1", 1L);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void writeClearsOwnAndDependentRegions() {
+        ServerExchange items = responseCache.cached("/items", counting(ok("item")), "/requests");
+        ServerExchange requests = responseCache.cached("/requests", counting(ok("request")));
+        get(items, "/1", 1L);
+        get(requests, "/1", 1L);
+
+        items.exchange(HttpMethod.POST, "", headers(1L), null, "item").block();
+        get(items, "/1", 1L);
+        get(requests, "/1", 1L);
+
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void responseStartedBeforeWriteIsNotCached() {
+        Sinks.One<ResponseEntity<Object>> slowResponse = Sinks.one();
+        ServerExchange exchange = responseCache.cached("/items", (method, path, headers, parameters, body) -> {
+            calls.incrementAndGet();
+            return method == HttpMethod.GET && calls.get() == 1 ? slowResponse.asMono() : Mono.just(ok("fresh"));
+        });
+
+        CompletableFuture<ResponseEntity<Object>> stale = exchange.exchange(HttpMethod.GET, "/1", headers(1L), null, null).toFuture();
+        exchange.exchange(HttpMethod.PATCH, "/1", headers(1L), null, "item").block();
+        slowResponse.tryEmitValue(ok("stale"));
+
+        assertEquals("stale", stale.join().getBody());
+        assertEquals("fresh", get(exchange, "/1", 1L).getBody());
+    }
+
+    private ServerExchange counting(ResponseEntity<Object> response) {
+        return (method, path, headers, parameters, body) -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private static ResponseEntity<Object> ok(Object body) {
+        return ResponseEntity.ok(body);
+    }
+
+    private static ResponseEntity<Object> get(ServerExchange exchange, String path, Long userId) {
+        return exchange.exchange(HttpMethod.GET, path, headers(userId), null, null).block();
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerInstancesTest {
+    private HealthEndpoint first;
+    private HealthEndpoint second;
+    private ServerInstances serverInstances;
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        first = new HealthEndpoint();
+        second = new HealthEndpoint();
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (serverInstances != null) {
+            serverInstances.shutdown();
+        }
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    public void failedGetIsRetriedOnOtherInstanceAndFailedInstanceIsEjected() throws InterruptedException {
+        ServerExchange exchange = balanced(Duration.ofHours(1));
+        failures.put(first.url, ioFailure());
+
+        assertEquals(second.url, get(exchange).getBody());
+        assertEquals(second.url, get(exchange).getBody());
+
+        assertEquals(1, calls(first.url));
+        assertEquals(2, calls(second.url));
+    }
+
+    @Test
+    public void failedWriteIsNotRetried() throws InterruptedException {
+        ServerExchange exchange = balanced(Duration.ofHours(1));
+        failures.put(first.url, ioFailure());
+
+        assertThrows(ResourceAccessException.class,
+                () -> exchange.exchange(HttpMethod.POST, "/items", new HttpHeaders(), null, "item").block());
+
+        assertEquals(1, calls(first.url));
+        assertEquals(0, calls(second.url));
+    }
+
+    @Test
+    public void nonIoErrorIsNotRetriedAndDoesNotEject() throws InterruptedException {
+        ServerExchange exchange = balanced(Duration.ofHours(1));
+        failures.put(first.url, new IllegalStateException("bad response"));
+
+        assertThrows(IllegalStateException.class, () -> get(exchange));
+        failures.clear();
+
+        assertEquals(first.url, get(exchange).getBody());
+        assertEquals(0, calls(second.url));
+    }
+
+    @Test
+    public void unhealthyInstanceIsSkippedUntilHealthCheckPasses() throws InterruptedException {
+        ServerExchange exchange = balanced(Duration.ofMillis(20));
+
+        first.status.set(503);
+        awaitHealthChecks(first, 2);
+        assertEquals(second.url, get(exchange).getBody());
+
+        first.status.set(200);
+        awaitHealthChecks(first, 2);
+        assertEquals(first.url, get(exchange).getBody());
+    }
+
+    private ServerExchange balanced(Duration healthCheckInterval) throws InterruptedException {
+        serverInstances = new ServerInstances(first.url + "," + second.url, healthCheckInterval, Duration.ofSeconds(1));
+        ServerExchange exchange = serverInstances.balanced("/items", baseUrl -> (method, path, headers, parameters, body) -> {
+            String url = baseUrl.substring(0, baseUrl.length() - "/items".length());
+            calls.computeIfAbsent(url, key -> new AtomicInteger()).incrementAndGet();
+            RuntimeException failure = failures.get(url);
+            return failure != null ? Mono.error(failure) : Mono.just(ResponseEntity.<Object>ok(url));
+        });
+        awaitHealthChecks(second, 1);
+        return exchange;
+    }
+
+    private int calls(String url) {
+        return calls.getOrDefault(url, new AtomicInteger()).get();
+    }
+
+    private static void awaitHealthChecks(HealthEndpoint endpoint, int count) throws InterruptedException {
+        int target = endpoint.checks.get() + count;
+        await(() -> endpoint.checks.get() >= target);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Проверка доступности серверов не выполнена");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static RuntimeException ioFailure() {
+        return new ResourceAccessException("I/O error", new ConnectException("Connection refused"));
+    }
+
+    private static ResponseEntity<Object> get(ServerExchange exchange) {
+        return exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).block();
+    }
+
+    private static class HealthEndpoint {
+        private final HttpServer server;
+        private final String url;
+        private final AtomicInteger status = new AtomicInteger(200);
+        private final AtomicInteger checks = new AtomicInteger();
+
+        private HealthEndpoint() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/actuator/health", exchange -> {
+                exchange.sendResponseHeaders(status.get(), -1);
+                exchange.close();
+                checks.incrementAndGet();
+            });
+            server.start();
+            url = "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.exception.handler.ErrorHandler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ServerResilienceTest {
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ServerResilience serverResilience;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    public void beforeEach() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        serverResilience = new ServerResilience(circuitBreakerRegistry, bulkheadRegistry);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void serverErrorsPassThroughAndOpenBreaker() {
+        ServerExchange exchange = serverResilience.guarded("items", responding(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, get(exchange).getStatusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("items").getState());
+        assertThrows(CallNotPermittedException.class, () -> get(exchange));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void clientErrorsDoNotOpenBreaker() {
+        ServerExchange exchange = serverResilience.guarded("items", responding(HttpStatus.NOT_FOUND));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.NOT_FOUND, get(exchange).getStatusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker("items").getState());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker("items").getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void groupsHaveSeparateBreakers() {
+        ServerExchange items = serverResilience.guarded("items", responding(HttpStatus.INTERNAL_SERVER_ERROR));
+        ServerExchange users = serverResilience.guarded("users", responding(HttpStatus.OK));
+        for (int i = 0; i < 4; i++) {
+            get(items);
+        }
+
+        assertEquals(HttpStatus.OK, get(users).getStatusCode());
+    }
+
+    @Test
+    public void fullBulkheadRejectsCall() {
+        Sinks.One<ResponseEntity<Object>> slowResponse = Sinks.one();
+        ServerExchange exchange = serverResilience.guarded("items",
+                (method, path, headers, parameters, body) -> slowResponse.asMono());
+
+        exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+
+        assertThrows(BulkheadFullException.class, () -> get(exchange));
+        slowResponse.tryEmitValue(ResponseEntity.ok("item"));
+        assertEquals(HttpStatus.OK, get(serverResilience.guarded("items", responding(HttpStatus.OK))).getStatusCode());
+    }
+
+    @Test
+    public void rejectedCallsAreMappedToServiceUnavailable() throws Exception {
+        ServerExchange failing = serverResilience.guarded("items", responding(HttpStatus.INTERNAL_SERVER_ERROR));
+        for (int i = 0; i < 4; i++) {
+            get(failing);
+        }
+        Sinks.One<ResponseEntity<Object>> slowResponse = Sinks.one();
+        ServerExchange slow = serverResilience.guarded("users", (method, path, headers, parameters, body) -> slowResponse.asMono());
+        slow.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).toFuture();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new GuardedController(failing, slow))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mockMvc.perform(get("/items")).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/users")).andExpect(status().isServiceUnavailable());
+    }
+
+    private ServerExchange responding(HttpStatus status) {
+        return (method, path, headers, parameters, body) -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        });
+    }
+
+    private static ResponseEntity<Object> get(ServerExchange exchange) {
+        return exchange.exchange(HttpMethod.GET, "/1", new HttpHeaders(), null, null).block();
+    }
+
+    @RestController
+    static class GuardedController {
+        private final ServerExchange items;
+        private final ServerExchange users;
+
+        GuardedController(ServerExchange items, ServerExchange users) {
+            this.items = items;
+            this.users = users;
+        }
+
+        @GetMapping("/items")
+        public ResponseEntity<Object> items() {
+            return get(items);
+        }
+
+        @GetMapping("/users")
+        public ResponseEntity<Object> users() {
+            return get(users);
+        }
+    }
+}
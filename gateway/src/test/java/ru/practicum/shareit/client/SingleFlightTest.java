@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+    private Sinks.One<ResponseEntity<Object>> response;
+
+    @BeforeEach
+    public void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+        response = Sinks.one();
+    }
+
+    @Test
+    public void concurrentIdenticalGetsShareOneCall() {
+        ServerExchange exchange = singleFlight(Duration.ofSeconds(5)).coalesced(pending());
+
+        CompletableFuture<ResponseEntity<Object>> leader = get(exchange, 1L);
+        CompletableFuture<ResponseEntity<Object>> follower = get(exchange, 1L);
+        response.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertEquals("item", leader.join().getBody());
+        assertSame(leader.join(), follower.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.counter("shareit.server.requests.coalesced").count());
+    }
+
+    @Test
+    public void differentUsersAreNotCoalesced() {
+        ServerExchange exchange = singleFlight(Duration.ofSeconds(5)).coalesced(pending());
+
+        get(exchange, 1L);
+        get(exchange, 2L);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void writesAreNotCoalesced() {
+        ServerExchange exchange = singleFlight(Duration.ofSeconds(5)).coalesced(pending());
+
+        exchange.exchange(HttpMethod.POST, "/items", headers(1L), null, "item").toFuture();
+        exchange.exchange(HttpMethod.POST, "/items", headers(1L), null, "item").toFuture();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void leaderErrorReachesFollowersAndIsNotKept() {
+        ServerExchange exchange = singleFlight(Duration.ofSeconds(5)).coalesced(pending());
+
+        CompletableFuture<ResponseEntity<Object>> leader = get(exchange, 1L);
+        CompletableFuture<ResponseEntity<Object>> follower = get(exchange, 1L);
+        response.tryEmitError(new IllegalStateException("server down"));
+
+        CompletionException leaderError = assertThrows(CompletionException.class, leader::join);
+        CompletionException followerError = assertThrows(CompletionException.class, follower::join);
+        assertEquals("server down", leaderError.getCause().getMessage());
+        assertEquals("server down", followerError.getCause().getMessage());
+
+        response = Sinks.one();
+        get(exchange, 1L);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void followerCallsOnItsOwnAfterMaxWait() {
+        ServerExchange exchange = singleFlight(Duration.ofMillis(50)).coalesced((method, path, headers, parameters, body) ->
+                Mono.defer(() -> calls.incrementAndGet() == 1
+                        ? Mono.<ResponseEntity<Object>>never()
+                        : Mono.just(ResponseEntity.<Object>ok("own"))));
+
+        get(exchange, 1L);
+        CompletableFuture<ResponseEntity<Object>> follower = get(exchange, 1L);
+
+        assertEquals("own", follower.join().getBody());
+        assertEquals(2, calls.get());
+    }
+
+    private SingleFlight singleFlight(Duration maxWait) {
+        return new SingleFlight(true, maxWait, meterRegistry);
+    }
+
+    private ServerExchange pending() {
+        return (method, path, headers, parameters, body) -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> get(ServerExchange exchange, Long userId) {
+        return exchange.exchange(HttpMethod.GET, "/items/1", headers(userId), null, null).toFuture();
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+}
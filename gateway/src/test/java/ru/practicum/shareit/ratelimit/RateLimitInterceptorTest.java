@@ -0,0 +1,66 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.handler.ErrorHandler;
+
+import java.time.Duration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class RateLimitInterceptorTest {
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void beforeEach() {
+        RateLimiter rateLimiter = new RateLimiter(1000, 1000, 1, 1, Duration.ofMinutes(10), 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(new LimitedController())
+                .addInterceptors(new RateLimitInterceptor(rateLimiter))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    public void exhaustedUserGetsTooManyRequestsWithRetryAfter() throws Exception {
+        mockMvc.perform(post("/limited").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/limited").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    public void exhaustedWritesDoNotBlockReadsOrOtherUsers() throws Exception {
+        mockMvc.perform(post("/limited").header("X-Sharer-User-Id", 1L));
+
+        mockMvc.perform(get("/limited").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/limited").header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+    }
+
+    @RestController
+    static class LimitedController {
+        @GetMapping("/limited")
+        public String read() {
+            return "read";
+        }
+
+        @PostMapping("/limited")
+        public String write() {
+            return "write";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private final RateLimiter rateLimiter = new RateLimiter(1, 2, 1, 1, Duration.ofMinutes(10), 100);
+
+    @Test
+    public void readsAndWritesHaveSeparateBuckets() {
+        assertEquals(0, rateLimiter.tryAcquire("1", true));
+        assertTrue(rateLimiter.tryAcquire("1", true) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("1", false));
+        assertEquals(0, rateLimiter.tryAcquire("1", false));
+        assertTrue(rateLimiter.tryAcquire("1", false) > 0);
+    }
+
+    @Test
+    public void usersHaveSeparateBuckets() {
+        assertEquals(0, rateLimiter.tryAcquire("1", true));
+        assertTrue(rateLimiter.tryAcquire("1", true) > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire("2", true));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TokenBucketTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void burstIsAllowedAndNextPermitWaitsOneInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(100 * MILLI, bucket.tryAcquire(0));
+    }
+
+    @Test
+    public void permitsRefillAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertEquals(40 * MILLI, bucket.tryAcquire(60 * MILLI));
+        assertEquals(0, bucket.tryAcquire(100 * MILLI));
+        assertEquals(100 * MILLI, bucket.tryAcquire(100 * MILLI));
+    }
+
+    @Test
+    public void idleTimeDoesNotGrowBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        long later = TimeUnit.SECONDS.toNanos(10);
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(100 * MILLI, bucket.tryAcquire(later));
+    }
+
+    @Test
+    public void rejectedCallDoesNotTakePermit() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.tryAcquire(0);
+
+        assertEquals(100 * MILLI, bucket.tryAcquire(0));
+        assertEquals(100 * MILLI, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(100 * MILLI));
+    }
+}
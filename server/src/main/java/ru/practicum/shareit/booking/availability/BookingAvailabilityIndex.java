@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-instance cache of approved booking intervals that have not ended yet. It only ever holds committed approvals,
+ * but approvals made through other server instances are missing until the entry expires, so a "free" answer may be
+ * stale for up to the TTL. Anything that makes a booking APPROVED re-checks the database under the item lock.
+ * Periods that start in the past are answered by the database, since ended bookings are not loaded.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, BookingIntervals> items;
+    private final AtomicLong version = new AtomicLong();
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.bookings.availability.max-items:10000}") long maxItems,
+                                    @Value("${shareit.bookings.availability.ttl:5m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        if (start.isBefore(now)) {
+            return bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED,
+                    end, start);
+        }
+        return intervalsOf(itemId, now).overlaps(start, end);
+    }
+
+    public void put(Booking booking) {
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            return;
+        }
+        Long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(itemId, start, end);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(itemId, start, end);
+            }
+        });
+    }
+
+    private void add(Long itemId, LocalDateTime start, LocalDateTime end) {
+        version.incrementAndGet();
+        BookingIntervals intervals = items.getIfPresent(itemId);
+        if (intervals != null) {
+            intervals.add(start, end);
+        }
+    }
+
+    private BookingIntervals intervalsOf(Long itemId, LocalDateTime now) {
+        BookingIntervals intervals = items.getIfPresent(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        long loadedVersion = version.get();
+        BookingIntervals loaded = new BookingIntervals();
+        List<BookingPeriod> periods = bookingRepository.findPeriodsByItem(itemId, BookingStatus.APPROVED, now);
+        for (BookingPeriod period : periods) {
+            loaded.add(period.getStartDate(), period.getEndDate());
+        }
+        log.info("Загружены интервалы бронирований вещи с id {}: {}", itemId, loaded.size());
+        BookingIntervals previous = items.asMap().putIfAbsent(itemId, loaded);
+        if (previous != null) {
+            return previous;
+        }
+        if (version.get() != loadedVersion) {
+            items.asMap().remove(itemId, loaded);
+        }
+        return loaded;
+    }
+}
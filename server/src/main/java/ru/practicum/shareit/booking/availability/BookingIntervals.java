@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class BookingIntervals {
+    private final TreeMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+
+    public synchronized void add(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+        Map.Entry<LocalDateTime, LocalDateTime> entry = intervals.floorEntry(mergedEnd);
+        while (entry != null && !entry.getValue().isBefore(mergedStart)) {
+            if (entry.getKey().isBefore(mergedStart)) {
+                mergedStart = entry.getKey();
+            }
+            if (entry.getValue().isAfter(mergedEnd)) {
+                mergedEnd = entry.getValue();
+            }
+            intervals.remove(entry.getKey());
+            entry = intervals.floorEntry(mergedEnd);
+        }
+        intervals.put(mergedStart, mergedEnd);
+    }
+
+    public synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> entry = intervals.lowerEntry(end);
+        return entry != null && entry.getValue().isAfter(start);
+    }
+
+    public synchronized int size() {
+        return intervals.size();
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/bookings")
@@ -26,24 +30,38 @@ public class BookingController {
         return bookingService.update(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> updateAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.updateAll(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
         return bookingService.getBooking(userId, bookingId);
     }
 
     @GetMapping()
-    public Collection<BookingDto> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(defaultValue = "ALL", required = false) BookingState state,
-                                                @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "10") int size) {
-        return bookingService.findAllByUser(userId, state, from, size);
+    public ResponseEntity<Collection<BookingDto>> findAllByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(defaultValue = "ALL", required = false) BookingState state,
+                                                                @RequestParam(defaultValue = "0") int from,
+                                                                @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return bookingService.findAllByUser(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.findAllByUser(userId, state, from, size));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(defaultValue = "ALL", required = false) BookingState state,
-                                                 @RequestParam(defaultValue = "0") int from,
-                                                 @RequestParam(defaultValue = "10") int size) {
-        return bookingService.findAllByOwner(userId, state, from, size);
+    public ResponseEntity<Collection<BookingDto>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(defaultValue = "ALL", required = false) BookingState state,
+                                                                 @RequestParam(defaultValue = "0") int from,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return bookingService.findAllByOwner(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.findAllByOwner(userId, state, from, size));
     }
 }
\ No newline at end of file
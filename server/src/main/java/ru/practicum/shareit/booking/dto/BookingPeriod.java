@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Start and end of a booking, selected without loading the entity.
+ */
+public interface BookingPeriod {
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
@@ -1,36 +1,71 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBooker_Id(Long bookerId, PageRequest pageRequest);
+    String BOOKING_VIEW = "SELECT b.id AS id, b.start AS startDate, b.end AS endDate, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, i.description AS itemDescription, i.available AS itemAvailable, " +
+            "i.request.id AS itemRequestId, u.id AS bookerId, u.name AS bookerName, u.email AS bookerEmail " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u ";
 
-    List<Booking> findByBooker_IdAndStatus(Long userId, BookingStatus waiting, PageRequest pageRequest);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBooker_IdAndEndIsBefore(Long bookerId, LocalDateTime end, PageRequest pageRequest);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findViewsByBooker(Long bookerId, PageRequest pageRequest);
 
-    List<Booking> findByBooker_IdAndStartIsAfter(Long bookerId, LocalDateTime start, PageRequest pageRequest);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.start < ?2 AND b.end > ?2 " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findCurrentViewsByBooker(Long bookerId, LocalDateTime now, PageRequest pageRequest);
 
-    List<Booking> findByItem_Owner_Id(Long ownerId, PageRequest pageRequest);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.end < ?2 " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findPastViewsByBooker(Long bookerId, LocalDateTime now, PageRequest pageRequest);
 
-    List<Booking> findByItem_Owner_IdAndEndIsBefore(Long ownerId, LocalDateTime end, PageRequest pageRequest);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.start > ?2 " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findFutureViewsByBooker(Long bookerId, LocalDateTime now, PageRequest pageRequest);
 
-    List<Booking> findByItem_Owner_IdAndStartIsAfter(Long ownerId, LocalDateTime start, PageRequest pageRequest);
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.status = ?2 " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findViewsByBookerAndStatus(Long bookerId, BookingStatus status, PageRequest pageRequest);
 
-    List<Booking> findByItem_Owner_IdAndStatus(Long bookerId, BookingStatus status, PageRequest pageRequest);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByOwnerId(Long ownerId, PageRequest pageRequest);
 
-    List<Booking> findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime end, PageRequest pageRequest);
 
-    List<Booking> findByBooker_IdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime start, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByOwnerIdAndStatus(Long ownerId, BookingStatus status, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findByOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
 
     @Query(nativeQuery = true,
             value = "SELECT * FROM bookings " +
@@ -53,9 +88,106 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByItem_IdAndBooker_IdAndEndIsBefore(Long itemId, Long bookerId, LocalDateTime end);
 
-    List<Booking> findByItem_Owner_IdAndStartIsBeforeAndStatus(Long ownerId, LocalDateTime start, BookingStatus status, Sort sort, PageRequest pageRequest);
-
-    List<Booking> findByItem_Owner_IdAndStartIsAfterAndStatus(Long ownerId, LocalDateTime start, BookingStatus status, Sort sort, PageRequest pageRequest);
-
-    Optional<Booking> findFirstByItem_IdAndEndAfterAndStartBeforeAndStatus(Long itemId, LocalDateTime after, LocalDateTime before, BookingStatus status);
+    @Query(nativeQuery = true,
+            value = "SELECT id, start_date, end_date, item_id, booker_id, owner_id, status FROM (" +
+                    "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+                    "FROM bookings b " +
+                    "WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND b.start_date < ?2) last_bookings " +
+                    "WHERE rn = 1 " +
+                    "UNION ALL " +
+                    "SELECT id, start_date, end_date, item_id, booker_id, owner_id, status FROM (" +
+                    "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date, b.id) AS rn " +
+                    "FROM bookings b " +
+                    "WHERE b.item_id IN (?1) AND b.status = 'APPROVED' AND b.start_date > ?2) next_bookings " +
+                    "WHERE rn = 1")
+    List<Booking> findLastAndNextBookings(Collection<Long> itemIds, LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.id = ?1")
+    Optional<Booking> lockById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN ?1 ORDER BY b.id")
+    List<Booking> lockAllByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2 WHERE b.id IN ?1")
+    int updateStatus(Collection<Long> ids, BookingStatus status);
+
+    @Query("SELECT b.start AS startDate, b.end AS endDate FROM Booking b " +
+            "WHERE b.item.id = ?1 AND b.status = ?2 AND b.end > ?3")
+    List<BookingPeriod> findPeriodsByItem(Long itemId, BookingStatus status, LocalDateTime after);
+
+    List<Booking> findByItem_IdInAndStatus(Collection<Long> itemIds, BookingStatus status);
+
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status, LocalDateTime end,
+                                                              LocalDateTime start);
+
+    boolean existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(Long itemId, BookingStatus status, LocalDateTime end,
+                                                                       LocalDateTime start, Long id);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findPageByBooker(Long bookerId, LocalDateTime end, Long id, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findCurrentPageByBooker(Long bookerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.end < ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findPastPageByBooker(Long bookerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.start > ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findFuturePageByBooker(Long bookerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW +
+            "WHERE b.booker.id = ?1 AND b.status = ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<BookingView> findPageByBookerAndStatus(Long bookerId, LocalDateTime end, Long id, BookingStatus status, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.ownerId = ?1 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findPageByOwner(Long ownerId, LocalDateTime end, Long id, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.ownerId = ?1 AND b.start < ?4 AND b.end > ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findCurrentPageByOwner(Long ownerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.ownerId = ?1 AND b.end < ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findPastPageByOwner(Long ownerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.ownerId = ?1 AND b.start > ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findFuturePageByOwner(Long ownerId, LocalDateTime end, Long id, LocalDateTime now, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.ownerId = ?1 AND b.status = ?4 " +
+            "AND (b.end < ?2 OR (b.end = ?2 AND b.id < ?3)) " +
+            "ORDER BY b.end DESC, b.id DESC")
+    List<Booking> findPageByOwnerAndStatus(Long ownerId, LocalDateTime end, Long id, BookingStatus status, PageRequest pageRequest);
 }
@@ -1,19 +1,29 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDto create(Long userId, BookingAddDto bookingAddDto);
 
     BookingDto update(Long userId, Long bookingId, String approved);
 
+    List<BookingDecisionResultDto> updateAll(Long userId, List<BookingDecisionDto> decisions);
+
     BookingDto getBooking(Long userId, Long bookingId);
 
     Collection<BookingDto> findAllByUser(Long userId, BookingState state, int from, int size);
 
+    CursorPage<BookingDto> findAllByUser(Long userId, BookingState state, String cursor, int size);
+
     Collection<BookingDto> findAllByOwner(Long ownerId, BookingState state, int from, int size);
+
+    CursorPage<BookingDto> findAllByOwner(Long ownerId, BookingState state, String cursor, int size);
 }
@@ -6,9 +6,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.BookingIntervals;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -19,23 +24,26 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "end", "id");
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
 
     @Override
     @Transactional
@@ -49,7 +57,7 @@ public class BookingServiceImpl implements BookingService {
                 });
         if (!item.getAvailable())
             throw new ValidationException("Вещь недоступна");
-        if (isBookingAvailable(bookingAddDto)) {
+        if (bookingAvailabilityIndex.isBooked(item.getId(), bookingAddDto.getStart(), bookingAddDto.getEnd())) {
             throw new ValidationException("Вещь недоступна в это время");
         }
         if (item.getOwner().getId().equals(userId))
@@ -67,18 +75,97 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDto update(Long userId, Long bookingId, String approved) {
         log.info("Получен запрос на обновление бронирования с id {}", bookingId);
-        Booking booking = getBookingById(bookingId);
+        Booking booking = bookingRepository.lockById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException(String.format("Бронирования с id %d не существует.", bookingId)));
         if (!booking.getItem().getOwner().getId().equals(userId))
             throw new BookingNotFoundException(String.format("Нет доступа для обновления у пользователя с id %d", userId));
         if (booking.getStatus() != BookingStatus.WAITING)
             throw new ValidationException("Невозможно изменить статус");
         if (approved.equals("true")) {
+            lockItem(booking.getItem().getId());
+            if (bookingRepository.existsByItem_IdAndStatusAndStartBeforeAndEndAfterAndIdNot(booking.getItem().getId(),
+                    BookingStatus.APPROVED, booking.getEnd(), booking.getStart(), booking.getId())) {
+                throw new ValidationException("Вещь недоступна в это время");
+            }
             booking.setStatus(BookingStatus.APPROVED);
         } else booking.setStatus(BookingStatus.REJECTED);
         bookingRepository.save(booking);
+        bookingAvailabilityIndex.put(booking);
         return BookingMapper.toBookingDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> updateAll(Long userId, List<BookingDecisionDto> decisions) {
+        log.info("Получен запрос на пакетное обновление {} бронирований пользователем с id {}", decisions.size(), userId);
+        Set<Long> bookingIds = decisions.stream()
+                .map(BookingDecisionDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Booking> bookings = bookingIds.isEmpty() ? Map.of() : bookingRepository.lockAllByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Set<Long> itemIds = bookings.values().stream()
+                .filter(booking -> booking.getOwnerId().equals(userId))
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, BookingIntervals> intervals = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockAllByIdIn(itemIds);
+            for (Booking booking : bookingRepository.findByItem_IdInAndStatus(itemIds, BookingStatus.APPROVED)) {
+                intervals.computeIfAbsent(booking.getItem().getId(), id -> new BookingIntervals())
+                        .add(booking.getStart(), booking.getEnd());
+            }
+        }
+
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        Map<Long, BookingStatus> decided = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            Long bookingId = decision.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            String error = null;
+            if (booking == null) {
+                error = String.format("Бронирования с id %d не существует.", bookingId);
+            } else if (!booking.getOwnerId().equals(userId)) {
+                error = String.format("Нет доступа для обновления у пользователя с id %d", userId);
+            } else if (decision.getApproved() == null) {
+                error = "Не указано решение";
+            } else if (decided.containsKey(bookingId) || booking.getStatus() != BookingStatus.WAITING) {
+                error = "Невозможно изменить статус";
+            } else if (Boolean.TRUE.equals(decision.getApproved())) {
+                BookingIntervals itemIntervals = intervals.computeIfAbsent(booking.getItem().getId(), id -> new BookingIntervals());
+                if (itemIntervals.overlaps(booking.getStart(), booking.getEnd())) {
+                    error = "Вещь недоступна в это время";
+                } else {
+                    itemIntervals.add(booking.getStart(), booking.getEnd());
+                    decided.put(bookingId, BookingStatus.APPROVED);
+                }
+            } else {
+                decided.put(bookingId, BookingStatus.REJECTED);
+            }
+            results.add(BookingDecisionResultDto.builder()
+                    .bookingId(bookingId)
+                    .status(booking == null ? null : decided.getOrDefault(bookingId, booking.getStatus()))
+                    .error(error)
+                    .build());
+        }
+
+        for (BookingStatus status : List.of(BookingStatus.APPROVED, BookingStatus.REJECTED)) {
+            List<Long> ids = decided.entrySet().stream()
+                    .filter(entry -> entry.getValue() == status)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            if (!ids.isEmpty()) {
+                bookingRepository.updateStatus(ids, status);
+            }
+        }
+        decided.forEach((bookingId, status) -> {
+            Booking booking = bookings.get(bookingId);
+            booking.setStatus(status);
+            bookingAvailabilityIndex.put(booking);
+        });
+        return results;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public BookingDto getBooking(Long userId, Long bookingId) {
@@ -96,62 +183,162 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDto> findAllByUser(Long bookerId, BookingState state, int from, int size) {
         log.info("Получен запрос бронирований пользователя с id {}", bookerId);
         getUserById(bookerId);
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "end"));
+        PageRequest pageRequest = PageRequest.of(from / size, size);
+        return findByUser(bookerId, state, pageRequest).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> findAllByUser(Long bookerId, BookingState state, String cursor, int size) {
+        log.info("Получен запрос страницы бронирований пользователя с id {} после курсора {}", bookerId, cursor);
+        getUserById(bookerId);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<BookingView> bookings = Cursor.decode(cursor)
+                .map(after -> findByUserAfter(bookerId, state, after, pageRequest))
+                .orElseGet(() -> findByUser(bookerId, state, pageRequest));
+        return CursorPage.of(bookings, size, BookingServiceImpl::cursorOf).map(BookingMapper::toBookingDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<BookingDto> findAllByOwner(Long ownerId, BookingState state, int from, int size) {
+        log.info("Получен запрос бронирования вещи пользователя с id {}", ownerId);
+        getUserById(ownerId);
+        PageRequest pageRequest = PageRequest.of(from / size, size, BOOKING_ORDER);
+        return findByOwner(ownerId, state, pageRequest).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> findAllByOwner(Long ownerId, BookingState state, String cursor, int size) {
+        log.info("Получен запрос страницы бронирований вещей пользователя с id {} после курсора {}", ownerId, cursor);
+        getUserById(ownerId);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<Booking> bookings = Cursor.decode(cursor)
+                .map(after -> findByOwnerAfter(ownerId, state, after, pageRequest))
+                .orElseGet(() -> findByOwner(ownerId, state, pageRequest.withSort(BOOKING_ORDER)));
+        return CursorPage.of(bookings, size, BookingServiceImpl::cursorOf).map(BookingMapper::toBookingDto);
+    }
+
+    private List<BookingView> findByUser(Long bookerId, BookingState state, PageRequest pageRequest) {
         LocalDateTime dateTime = LocalDateTime.now();
-        List<Booking> bookings = new ArrayList<>();
+        List<BookingView> bookings = new ArrayList<>();
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findByBooker_Id(bookerId, pageRequest);
+                bookings = bookingRepository.findViewsByBooker(bookerId, pageRequest);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByBooker_IdAndStartIsBeforeAndEndIsAfter(bookerId, dateTime, dateTime, pageRequest);
+                bookings = bookingRepository.findCurrentViewsByBooker(bookerId, dateTime, pageRequest);
                 break;
             case PAST:
-                bookings = bookingRepository.findByBooker_IdAndEndIsBefore(bookerId, dateTime, pageRequest);
+                bookings = bookingRepository.findPastViewsByBooker(bookerId, dateTime, pageRequest);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByBooker_IdAndStartIsAfter(bookerId, dateTime, pageRequest);
+                bookings = bookingRepository.findFutureViewsByBooker(bookerId, dateTime, pageRequest);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByBooker_IdAndStatus(bookerId, BookingStatus.WAITING, pageRequest);
+                bookings = bookingRepository.findViewsByBookerAndStatus(bookerId, BookingStatus.WAITING, pageRequest);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByBooker_IdAndStatus(bookerId, BookingStatus.REJECTED, pageRequest);
+                bookings = bookingRepository.findViewsByBookerAndStatus(bookerId, BookingStatus.REJECTED, pageRequest);
                 break;
         }
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return bookings;
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public Collection<BookingDto> findAllByOwner(Long ownerId, BookingState state, int from, int size) {
-        log.info("Получен запрос бронирования вещи пользователя с id {}", ownerId);
-        getUserById(ownerId);
-        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "end"));
+    private List<BookingView> findByUserAfter(Long bookerId, BookingState state, Cursor after, PageRequest pageRequest) {
+        LocalDateTime dateTime = LocalDateTime.now();
+        LocalDateTime end = after.getDateKey();
+        Long id = after.getId();
+        List<BookingView> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findPageByBooker(bookerId, end, id, pageRequest);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentPageByBooker(bookerId, end, id, dateTime, pageRequest);
+                break;
+            case PAST:
+                bookings = bookingRepository.findPastPageByBooker(bookerId, end, id, dateTime, pageRequest);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFuturePageByBooker(bookerId, end, id, dateTime, pageRequest);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findPageByBookerAndStatus(bookerId, end, id, BookingStatus.WAITING, pageRequest);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findPageByBookerAndStatus(bookerId, end, id, BookingStatus.REJECTED, pageRequest);
+                break;
+        }
+        return bookings;
+    }
+
+    private List<Booking> findByOwner(Long ownerId, BookingState state, PageRequest pageRequest) {
         LocalDateTime dateTime = LocalDateTime.now();
         List<Booking> bookings = new ArrayList<>();
         switch (state) {
             case ALL:
-                bookings = bookingRepository.findByItem_Owner_Id(ownerId, pageRequest);
+                bookings = bookingRepository.findByOwnerId(ownerId, pageRequest);
                 break;
             case CURRENT:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartIsBeforeAndEndIsAfter(ownerId,
+                bookings = bookingRepository.findByOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId,
                         dateTime, dateTime, pageRequest);
                 break;
             case PAST:
-                bookings = bookingRepository.findByItem_Owner_IdAndEndIsBefore(ownerId, dateTime, pageRequest);
+                bookings = bookingRepository.findByOwnerIdAndEndIsBefore(ownerId, dateTime, pageRequest);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByItem_Owner_IdAndStartIsAfter(ownerId, dateTime, pageRequest);
+                bookings = bookingRepository.findByOwnerIdAndStartIsAfter(ownerId, dateTime, pageRequest);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatus(ownerId, BookingStatus.WAITING, pageRequest);
+                bookings = bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageRequest);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByItem_Owner_IdAndStatus(ownerId, BookingStatus.REJECTED, pageRequest);
+                bookings = bookingRepository.findByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageRequest);
                 break;
         }
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        return bookings;
+    }
+
+    private List<Booking> findByOwnerAfter(Long ownerId, BookingState state, Cursor after, PageRequest pageRequest) {
+        LocalDateTime dateTime = LocalDateTime.now();
+        LocalDateTime end = after.getDateKey();
+        Long id = after.getId();
+        List<Booking> bookings = new ArrayList<>();
+        switch (state) {
+            case ALL:
+                bookings = bookingRepository.findPageByOwner(ownerId, end, id, pageRequest);
+                break;
+            case CURRENT:
+                bookings = bookingRepository.findCurrentPageByOwner(ownerId, end, id, dateTime, pageRequest);
+                break;
+            case PAST:
+                bookings = bookingRepository.findPastPageByOwner(ownerId, end, id, dateTime, pageRequest);
+                break;
+            case FUTURE:
+                bookings = bookingRepository.findFuturePageByOwner(ownerId, end, id, dateTime, pageRequest);
+                break;
+            case WAITING:
+                bookings = bookingRepository.findPageByOwnerAndStatus(ownerId, end, id, BookingStatus.WAITING, pageRequest);
+                break;
+            case REJECTED:
+                bookings = bookingRepository.findPageByOwnerAndStatus(ownerId, end, id, BookingStatus.REJECTED, pageRequest);
+                break;
+        }
+        return bookings;
+    }
+
+    private static Cursor cursorOf(Booking booking) {
+        return Cursor.of(booking.getEnd(), booking.getId());
+    }
+
+    private static Cursor cursorOf(BookingView booking) {
+        return Cursor.of(booking.getEndDate(), booking.getId());
     }
 
     private Booking getBookingById(Long id) {
@@ -170,12 +357,8 @@ public class BookingServiceImpl implements BookingService {
                 });
     }
 
-    private boolean isBookingAvailable(BookingAddDto bookingAddDto) {
-        Optional<Booking> bookingAvailability = bookingRepository.findFirstByItem_IdAndEndAfterAndStartBeforeAndStatus(
-                bookingAddDto.getItemId(),
-                bookingAddDto.getStart(),
-                bookingAddDto.getEnd(),
-                BookingStatus.APPROVED);
-        return bookingAvailability.isPresent();
+    private void lockItem(Long itemId) {
+        itemRepository.lockById(itemId)
+                .orElseThrow(() -> new DataNotFoundException(itemId));
     }
 }
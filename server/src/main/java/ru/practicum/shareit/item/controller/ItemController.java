@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 @Validated
@@ -22,10 +31,14 @@ public class ItemController {
     }
 
     @GetMapping
-    public Collection<ItemDtoBooking> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(defaultValue = "0") int from,
-                                                     @RequestParam(defaultValue = "10") int size) {
-        return itemService.findAllByOwner(userId, from, size);
+    public ResponseEntity<Collection<ItemDtoBooking>> findAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(defaultValue = "0") int from,
+                                                                     @RequestParam(defaultValue = "10") int size,
+                                                                     @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return itemService.findAllByOwner(userId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.findAllByOwner(userId, from, size));
     }
 
     @PostMapping
@@ -33,6 +46,13 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           InputStream body) throws IOException {
+        return itemService.importItems(userId, MediaType.parseMediaType(contentType), body);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
         return itemService.update(userId, itemDto, itemId);
@@ -43,11 +63,22 @@ public class ItemController {
         return itemService.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemService.getAvailability(userId, itemId, start, end);
+    }
+
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
-                                      @RequestParam(defaultValue = "0") int from,
-                                      @RequestParam(defaultValue = "10") int size) {
-        return itemService.search(userId, text, from, size);
+    public ResponseEntity<Collection<ItemDto>> search(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
+                                                      @RequestParam(defaultValue = "0") int from,
+                                                      @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return itemService.search(userId, text, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.search(userId, text, from, size));
     }
 
     @PostMapping("/{itemId}/comment")
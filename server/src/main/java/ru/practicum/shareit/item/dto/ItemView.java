@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Columns of an item that {@link ItemDto} needs, selected without loading the entity.
+ */
+public interface ItemView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
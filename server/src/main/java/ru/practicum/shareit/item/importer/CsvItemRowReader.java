@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns {@code name}, {@code description}, {@code available} and,
+ * optionally, {@code requestId}. Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvItemRowReader implements ItemRowReader {
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line;
+    private long recordLine;
+
+    CsvItemRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        if (columns == null && !readHeader()) {
+            return null;
+        }
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        String available = field(fields, "available");
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return ItemRow.failed(recordLine, "Некорректное значение available: " + available);
+        }
+        String requestId = field(fields, "requestid");
+        Long request = null;
+        if (requestId != null) {
+            try {
+                request = Long.parseLong(requestId);
+            } catch (NumberFormatException e) {
+                return ItemRow.failed(recordLine, "Некорректное значение requestId: " + requestId);
+            }
+        }
+        return ItemRow.of(recordLine, ItemDto.builder()
+                .name(field(fields, "name"))
+                .description(field(fields, "description"))
+                .available(available != null ? Boolean.valueOf(available) : null)
+                .requestId(request)
+                .build());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return false;
+        }
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new ValidationException("В заголовке CSV нет столбца " + column);
+            }
+        }
+        return true;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = ++line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    break;
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.persistence.BatchInserter;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON or CSV body into items. Rows are validated one by one with the rules of {@code POST /items} and
+ * written in batches, each batch in its own transaction, so memory use does not grow with the size of the file:
+ * only the current batch and at most {@code shareit.items.import.max-errors} error descriptions are kept.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+    private final ItemRequestRepository itemRequestRepository;
+    private final BatchInserter batchInserter;
+    private final ItemSearch itemSearch;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ItemImporter(ItemRequestRepository itemRequestRepository, BatchInserter batchInserter, ItemSearch itemSearch,
+                        ObjectMapper objectMapper,
+                        @Value("${shareit.items.import.batch-size:500}") int batchSize,
+                        @Value("${shareit.items.import.max-errors:100}") int maxErrors) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.batchInserter = batchInserter;
+        this.itemSearch = itemSearch;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ItemImportResultDto importItems(User owner, MediaType contentType, InputStream body) throws IOException {
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        List<ItemRow> batch = new ArrayList<>(batchSize);
+        try (ItemRowReader rows = ItemRowReader.of(contentType, body, objectMapper)) {
+            for (ItemRow row = rows.next(); row != null; row = rows.next()) {
+                progress.total++;
+                String error = row.getError() != null ? row.getError() : validate(row.getItem());
+                if (error != null) {
+                    progress.reject(row.getLine(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    save(owner, batch, progress);
+                    batch.clear();
+                }
+            }
+        }
+        save(owner, batch, progress);
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        log.info("Импорт вещей пользователя с id {}: строк {}, сохранено {}, ошибок {}",
+                owner.getId(), progress.total, progress.imported, progress.failed);
+        return ItemImportResultDto.builder()
+                .total(progress.total)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .rowsPerSecond(progress.total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private String validate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название вещи не может быть пустым";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание вещи не может быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Нельзя создать вещь без статуса доступа";
+        }
+        return null;
+    }
+
+    private void save(User owner, List<ItemRow> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<Long> requestIds = batch.stream()
+                .map(row -> row.getItem().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of() : itemRequestRepository.findExistingIds(requestIds);
+
+        List<Item> items = new ArrayList<>(batch.size());
+        List<ItemRow> saved = new ArrayList<>(batch.size());
+        for (ItemRow row : batch) {
+            Long requestId = row.getItem().getRequestId();
+            if (requestId != null && !existingRequestIds.contains(requestId)) {
+                progress.reject(row.getLine(), String.format("Запрос с id %d не найден", requestId));
+                continue;
+            }
+            Item item = ItemMapper.toItem(row.getItem());
+            item.setId(null);
+            item.setOwner(owner);
+            items.add(item);
+            saved.add(row);
+        }
+        try {
+            batchInserter.insertAll(items);
+        } catch (PersistenceException | DataAccessException e) {
+            log.warn("Не удалось сохранить пакет из {} вещей: {}", items.size(), e.getMessage());
+            saved.forEach(row -> progress.reject(row.getLine(), "Не удалось сохранить вещь"));
+            return;
+        }
+        items.forEach(itemSearch::put);
+        progress.imported += items.size();
+    }
+
+    private class Progress {
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private void reject(long line, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(ItemImportErrorDto.builder().line(line).error(error).build());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class ItemRow {
+    private final long line;
+    private final ItemDto item;
+    private final String error;
+
+    static ItemRow of(long line, ItemDto item) {
+        return new ItemRow(line, item, null);
+    }
+
+    static ItemRow failed(long line, String error) {
+        return new ItemRow(line, null, error);
+    }
+}
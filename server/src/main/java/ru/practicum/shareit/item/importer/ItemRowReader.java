@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an import body one row at a time, so only the current row is ever held in memory.
+ */
+interface ItemRowReader extends Closeable {
+    MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    /**
+     * Returns the next row, or {@code null} once the body is exhausted.
+     */
+    @Nullable
+    ItemRow next() throws IOException;
+
+    static ItemRowReader of(MediaType contentType, InputStream body, ObjectMapper objectMapper) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset));
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new NdjsonItemRowReader(reader, objectMapper);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new CsvItemRowReader(reader);
+        }
+        throw new ValidationException(String.format("Формат %s не поддерживается для импорта вещей", contentType));
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line; blank lines are skipped.
+ */
+class NdjsonItemRowReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private long line;
+
+    NdjsonItemRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                return ItemRow.of(line, itemReader.readValue(text));
+            } catch (JsonProcessingException e) {
+                return ItemRow.failed(line, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Comment;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "comments-by-item")})
     List<Comment> findCommentsByItem_Id(Long itemId);
 
-    List<Comment> findByItem_Owner_IdEquals(Long ownerId);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItem_IdIn(Collection<Long> itemIds);
 }
@@ -2,22 +2,97 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
+import ru.practicum.shareit.item.search.ItemSearchRank;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_VIEW = "SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId " +
+            "FROM Item i ";
+
+    String RANKED_SEARCH = "SELECT i.*, CAST(ts_rank(i.search_vector, plainto_tsquery('russian', :text)) + " +
+            "greatest(word_similarity(:text, i.name), word_similarity(:text, i.description)) AS float8) AS score " +
+            "FROM items i " +
+            "WHERE i.is_available = true " +
+            "AND (i.search_vector @@ plainto_tsquery('russian', :text) " +
+            "OR i.name ILIKE concat('%', :text, '%') " +
+            "OR i.description ILIKE concat('%', :text, '%'))";
+
     List<Item> findAllByOwner(User owner, PageRequest pageRequest);
 
-    @Query("SELECT i " +
-            "FROM Item i " +
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> lockById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> lockAllByIdIn(Collection<Long> ids);
+
+    List<Item> findAllByOwner_IdAndIdGreaterThanOrderById(Long ownerId, Long id, PageRequest pageRequest);
+
+    @Query(ITEM_VIEW +
             "WHERE (upper(i.name) LIKE UPPER(concat('%', ?1, '%')) " +
             "OR UPPER(i.description) LIKE UPPER(concat('%', ?1, '%'))) AND i.available != false")
-    List<Item> search(String text, PageRequest pageRequest);
+    List<ItemView> searchViews(String text, PageRequest pageRequest);
+
+    @Query(ITEM_VIEW +
+            "WHERE (upper(i.name) LIKE UPPER(concat('%', ?1, '%')) " +
+            "OR UPPER(i.description) LIKE UPPER(concat('%', ?1, '%'))) AND i.available != false " +
+            "AND i.id > ?2 " +
+            "ORDER BY i.id")
+    List<ItemView> searchViewsAfter(String text, Long id, PageRequest pageRequest);
+
+    @Query(nativeQuery = true,
+            value = "SELECT r.id AS id, r.name AS name, r.description AS description, r.is_available AS available, " +
+                    "r.request_id AS \"requestId\" FROM (" + RANKED_SEARCH + ") r " +
+                    "ORDER BY r.score DESC, r.id")
+    List<ItemView> searchRanked(@Param("text") String text, PageRequest pageRequest);
+
+    @Query(nativeQuery = true,
+            value = "SELECT r.id AS id, r.score AS score FROM (" + RANKED_SEARCH + ") r " +
+                    "WHERE r.score < :score OR (r.score = :score AND r.id > :id) " +
+                    "ORDER BY r.score DESC, r.id")
+    List<ItemSearchRank> searchRankedAfter(@Param("text") String text, @Param("score") double score,
+                                           @Param("id") Long id, PageRequest pageRequest);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
+            "FROM Item i")
+    List<ItemSearchDocument> findAllSearchDocuments();
+
+    @Query(ITEM_VIEW + "WHERE i.id IN ?1")
+    List<ItemView> findViewsByIdIn(Collection<Long> ids);
+
+    default List<ItemView> findViewsByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemView> items = findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
     List<Item> findAllByRequest_IdIn(List<Long> requestIds);
 
+    @Query(ITEM_VIEW + "WHERE i.request.id IN ?1")
+    List<ItemView> findViewsByRequestIdIn(Collection<Long> requestIds);
+
     List<Item> findAllByRequest_id(Long requestId);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.List;
+
+public interface ItemSearch {
+    List<ItemView> search(String text, PageRequest pageRequest);
+
+    CursorPage<ItemView> search(String text, @Nullable Cursor after, int size);
+
+    default void put(Item item) {
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+public class ItemSearchDocument {
+    static final int GRAM_LENGTH = 3;
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final boolean available;
+
+    public ItemSearchDocument(Long id, String name, String description, Boolean available) {
+        this.id = id;
+        this.name = normalize(name);
+        this.description = normalize(description);
+        this.available = Boolean.TRUE.equals(available);
+    }
+
+    public static ItemSearchDocument of(Item item) {
+        return new ItemSearchDocument(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
+    /**
+     * Upper-cases every code point on its own, so a letter never expands into several (String.toUpperCase turns "ß"
+     * into "SS"). Database UPPER follows the collation and may fold some letters, such as "ß" or the Turkish "i",
+     * differently from the like backend.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        text.codePoints().map(Character::toUpperCase).forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    Set<Long> grams() {
+        Set<Long> grams = grams(name);
+        grams.addAll(grams(description));
+        return grams;
+    }
+
+    boolean matches(String pattern) {
+        return available && (name.contains(pattern) || description.contains(pattern));
+    }
+}
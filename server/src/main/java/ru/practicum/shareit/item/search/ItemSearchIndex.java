@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Trigram index over item names and descriptions held in this server's memory. Items enter it only after the
+ * transaction that wrote them commits, and only when they are written through this instance, so the mode is meant
+ * for a single server instance: with several instances behind the gateway use the like or postgres mode.
+ * A document and its postings change together under the write lock, so a search never sees one without the other.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+@RequiredArgsConstructor
+public class ItemSearchIndex implements ItemSearch {
+    private final ItemRepository itemRepository;
+    private final Map<Long, ItemSearchDocument> documents = new HashMap<>();
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean loaded;
+
+    @Override
+    public List<ItemView> search(String text, PageRequest pageRequest) {
+        if (!supports(text)) {
+            return itemRepository.searchViews(text, pageRequest);
+        }
+        return itemRepository.findViewsByIdInOrder(findIds(text, 0, pageRequest.getOffset(), pageRequest.getPageSize()));
+    }
+
+    @Override
+    public CursorPage<ItemView> search(String text, @Nullable Cursor after, int size) {
+        long afterId = after == null ? 0L : after.getId();
+        if (!supports(text)) {
+            List<ItemView> items = itemRepository.searchViewsAfter(text, afterId, PageRequest.of(0, size + 1));
+            return CursorPage.of(items, size, item -> Cursor.of(item.getId()));
+        }
+        return CursorPage.of(findIds(text, afterId, 0, size + 1), size, Cursor::of)
+                .mapAll(itemRepository::findViewsByIdInOrder);
+    }
+
+    public boolean supports(String text) {
+        return text.indexOf('%') < 0 && text.indexOf('_') < 0 && text.indexOf('\\') < 0;
+    }
+
+    public List<Long> findIds(String text, long afterId, long offset, int limit) {
+        ensureLoaded();
+        String pattern = ItemSearchDocument.normalize(text);
+        lock.readLock().lock();
+        try {
+            return candidates(pattern).stream()
+                    .map(documents::get)
+                    .filter(document -> document != null && document.matches(pattern))
+                    .map(ItemSearchDocument::getId)
+                    .filter(id -> id > afterId)
+                    .sorted()
+                    .skip(offset)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Item item) {
+        ItemSearchDocument document = ItemSearchDocument.of(item);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(document);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(document);
+            }
+        });
+    }
+
+    private Collection<Long> candidates(String pattern) {
+        if (pattern.length() < ItemSearchDocument.GRAM_LENGTH) {
+            return documents.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (Long gram : ItemSearchDocument.grams(pattern)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> smallest = lists.get(0);
+        List<Set<Long>> others = lists.subList(1, lists.size());
+        return smallest.stream()
+                .filter(id -> others.stream().allMatch(ids -> ids.contains(id)))
+                .collect(Collectors.toList());
+    }
+
+    private void index(ItemSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            ItemSearchDocument previous = documents.put(document.getId(), document);
+            reindex(document.getId(), previous, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reindex(Long id, ItemSearchDocument previous, ItemSearchDocument current) {
+        Set<Long> currentGrams = current == null ? Set.of() : current.grams();
+        if (previous != null) {
+            for (Long gram : previous.grams()) {
+                if (!currentGrams.contains(gram)) {
+                    postings.computeIfPresent(gram, (key, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+        for (Long gram : currentGrams) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<ItemSearchDocument> stored = itemRepository.findAllSearchDocuments();
+                lock.writeLock().lock();
+                try {
+                    for (ItemSearchDocument document : stored) {
+                        if (documents.putIfAbsent(document.getId(), document) == null) {
+                            reindex(document.getId(), null, document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Поисковый индекс вещей загружен: {} записей; индекс не видит изменений других экземпляров " +
+                        "сервера, режим index рассчитан на один экземпляр", stored.size());
+                loaded = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(String text, PageRequest pageRequest) {
+        return itemRepository.searchViews(text, pageRequest);
+    }
+
+    @Override
+    public CursorPage<ItemView> search(String text, @Nullable Cursor after, int size) {
+        List<ItemView> items = itemRepository.searchViewsAfter(text, after == null ? 0L : after.getId(), PageRequest.of(0, size + 1));
+        return CursorPage.of(items, size, item -> Cursor.of(item.getId()));
+    }
+}
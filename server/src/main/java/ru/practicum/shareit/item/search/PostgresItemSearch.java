@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(String text, PageRequest pageRequest) {
+        return itemRepository.searchRanked(text, pageRequest);
+    }
+
+    @Override
+    public CursorPage<ItemView> search(String text, @Nullable Cursor after, int size) {
+        List<ItemSearchRank> ranks = itemRepository.searchRankedAfter(text,
+                after == null ? Double.MAX_VALUE : after.getScoreKey(),
+                after == null ? 0L : after.getId(),
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(ranks, size, rank -> Cursor.of(rank.getScore(), rank.getId()))
+                .mapAll(page -> itemRepository.findViewsByIdInOrder(page.stream()
+                        .map(ItemSearchRank::getId)
+                        .collect(Collectors.toList())));
+    }
+}
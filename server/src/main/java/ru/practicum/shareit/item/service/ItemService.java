@@ -1,21 +1,36 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.http.MediaType;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 
 public interface ItemService {
     Collection<ItemDtoBooking> findAllByOwner(Long userId, int from, int size);
 
+    CursorPage<ItemDtoBooking> findAllByOwner(Long userId, String cursor, int size);
+
     ItemDto create(Long userId, ItemDto itemDto);
 
+    ItemImportResultDto importItems(Long userId, MediaType contentType, InputStream body) throws IOException;
+
     ItemDto update(Long userId, ItemDto itemDto, Long itemId);
 
     ItemDtoBooking getItem(Long userId, Long id);
 
+    ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
+
     Collection<ItemDto> search(Long userId, String text, int from, int size);
 
+    CursorPage<ItemDto> search(Long userId, String text, String cursor, int size);
+
     CommentDto createComment(Long userId, Long itemId, CommentDto commentDto);
 }
@@ -4,28 +4,33 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.importer.ItemImporter;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.mapping;
@@ -38,53 +43,30 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
     private final CommentRepository commentRepository;
+    private final ItemSearch itemSearch;
+    private final ItemImporter itemImporter;
 
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemDtoBooking> findAllByOwner(Long userId, int from, int size) {
         log.info("Получен запрос на получение списка вещей пользователя по id {}", userId);
         User user = getUserById(userId);
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-        List<ItemDtoBooking> itemDtoBookings = new ArrayList<>();
-        Map<Long, Item> itemMap = itemRepository.findAllByOwner(user, pageRequest).stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
-
-        List<Booking> lastBookings = bookingRepository.findByItem_Owner_IdAndStartIsBeforeAndStatus(userId, LocalDateTime.now(),
-                BookingStatus.APPROVED, Sort.by(Sort.Direction.DESC, "start"), pageRequest);
-        Map<Long, List<Booking>> lastBookingMap = lastBookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
-                        mapping(booking -> booking, toList())));
-
-        List<Booking> nextBookings = bookingRepository.findByItem_Owner_IdAndStartIsAfterAndStatus(userId, LocalDateTime.now(),
-                BookingStatus.APPROVED, Sort.by(Sort.Direction.DESC, "start"), pageRequest);
-        Map<Long, List<Booking>> nextBookingMap = nextBookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
-                        mapping(booking -> booking, toList())));
-
-        Map<Long, List<CommentDto>> commentMap = commentRepository.findByItem_Owner_IdEquals(userId).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
-                        mapping(CommentMapper::toCommentDto, toList())));
+        PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("id"));
+        return toItemDtoBookings(itemRepository.findAllByOwner(user, pageRequest));
+    }
 
-        for (Item item : itemMap.values()) {
-            BookingDtoForItem lastBooking = null;
-            BookingDtoForItem nextBooking = null;
-            List<CommentDto> comment = new ArrayList<>();
-            if (lastBookingMap.get(item.getId()) != null) {
-                lastBooking = BookingMapper.toBookingDtoForItem(lastBookingMap.get(item.getId()).stream()
-                        .sorted(Comparator.comparing(Booking::getStart)
-                                .reversed()).collect(Collectors.toList()).get(0));
-            }
-            if (nextBookingMap.get(item.getId()) != null) {
-                nextBooking = BookingMapper.toBookingDtoForItem(nextBookingMap.get(item.getId()).stream()
-                        .sorted(Comparator.comparing(Booking::getStart)).collect(Collectors.toList()).get(0));
-            }
-            if (commentMap.containsKey(item.getId())) {
-                comment = commentMap.get(item.getId());
-            }
-            itemDtoBookings.add(ItemMapper.toItemDtoBooking(item, lastBooking, nextBooking, comment));
-        }
-        return itemDtoBookings.stream().sorted(Comparator.comparing(ItemDtoBooking::getId)).collect(toList());
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDtoBooking> findAllByOwner(Long userId, String cursor, int size) {
+        log.info("Получен запрос страницы вещей пользователя по id {} после курсора {}", userId, cursor);
+        getUserById(userId);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        Long afterId = Cursor.decode(cursor).map(Cursor::getId).orElse(0L);
+        List<Item> items = itemRepository.findAllByOwner_IdAndIdGreaterThanOrderById(userId, afterId, pageRequest);
+        return CursorPage.of(items, size, item -> Cursor.of(item.getId()))
+                .mapAll(this::toItemDtoBookings);
     }
 
     @Override
@@ -97,9 +79,16 @@ public class ItemServiceImpl implements ItemService {
         }
         item.setOwner(getUserById(userId));
         Item createdItem = itemRepository.save(item);
+        itemSearch.put(createdItem);
         return ItemMapper.toItemDto(createdItem);
     }
 
+    @Override
+    public ItemImportResultDto importItems(Long userId, MediaType contentType, InputStream body) throws IOException {
+        log.info("Получен запрос на импорт вещей пользователя по id {}", userId);
+        return itemImporter.importItems(getUserById(userId), contentType, body);
+    }
+
     @Override
     @Transactional
     public ItemDto update(Long userId, ItemDto itemDto, Long itemId) {
@@ -119,7 +108,9 @@ public class ItemServiceImpl implements ItemService {
             log.info("У пользователя по id {} нет вещи с id {}", userId, itemId);
             throw new DataNotFoundException(itemId);
         }
-        return ItemMapper.toItemDto(itemRepository.save(updatedItem));
+        Item savedItem = itemRepository.save(updatedItem);
+        itemSearch.put(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
@@ -150,6 +141,24 @@ public class ItemServiceImpl implements ItemService {
         return itemDtoBooking;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        log.info("Получен запрос доступности вещи с id {} с {} по {}", itemId, start, end);
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Дата начала должна быть раньше даты окончания");
+        }
+        getUserById(userId);
+        Item item = getItemById(itemId);
+        boolean available = item.getAvailable() && !bookingAvailabilityIndex.isBooked(itemId, start, end);
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .available(available)
+                .build();
+    }
+
     @Override
     @Transactional
     public CommentDto createComment(Long userId, Long itemId, CommentDto commentDto) {
@@ -175,11 +184,53 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isBlank()) {
             return List.of();
         }
-        return itemRepository.search(text, pageRequest).stream()
+        return itemSearch.search(text, pageRequest).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDto> search(Long userId, String text, String cursor, int size) {
+        log.info("Получен запрос на поиск вещей от пользователя по id {} после курсора {}", userId, cursor);
+        Cursor after = Cursor.decode(cursor).orElse(null);
+        if (text == null || text.isBlank()) {
+            return CursorPage.empty();
+        }
+        return itemSearch.search(text, after, size).map(ItemMapper::toItemDto);
+    }
+
+    private List<ItemDtoBooking> toItemDtoBookings(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookingMap = new HashMap<>();
+        Map<Long, Booking> nextBookingMap = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookings(itemIds, now)) {
+            Map<Long, Booking> bookingMap = booking.getStart().isBefore(now) ? lastBookingMap : nextBookingMap;
+            bookingMap.put(booking.getItem().getId(), booking);
+        }
+
+        Map<Long, List<CommentDto>> commentMap = commentRepository.findByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        mapping(CommentMapper::toCommentDto, toList())));
+
+        List<ItemDtoBooking> itemDtoBookings = new ArrayList<>();
+        for (Item item : items) {
+            Booking lastBooking = lastBookingMap.get(item.getId());
+            Booking nextBooking = nextBookingMap.get(item.getId());
+            itemDtoBookings.add(ItemMapper.toItemDtoBooking(item,
+                    lastBooking == null ? null : BookingMapper.toBookingDtoForItem(lastBooking),
+                    nextBooking == null ? null : BookingMapper.toBookingDtoForItem(nextBooking),
+                    commentMap.getOrDefault(item.getId(), new ArrayList<>())));
+        }
+        return itemDtoBookings;
+    }
+
     private User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
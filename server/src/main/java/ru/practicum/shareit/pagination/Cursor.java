@@ -0,0 +1,72 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final Long id;
+
+    public static Cursor of(Long id) {
+        return new Cursor("", id);
+    }
+
+    public static Cursor of(LocalDateTime key, Long id) {
+        return new Cursor(key.toString(), id);
+    }
+
+    public static Cursor of(double key, Long id) {
+        return new Cursor(Double.toString(key), id);
+    }
+
+    public static Optional<Cursor> decode(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return Optional.of(new Cursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1))));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalid(value);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getDateKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw invalid(encode());
+        }
+    }
+
+    public double getScoreKey() {
+        try {
+            return Double.parseDouble(key);
+        } catch (NumberFormatException e) {
+            throw invalid(encode());
+        }
+    }
+
+    private static ValidationException invalid(String value) {
+        return new ValidationException(String.format("Некорректный курсор: %s", value));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Persists large numbers of new entities in one transaction, flushing and clearing the persistence context every
+ * JDBC batch so Hibernate sends batched inserts and memory stays flat.
+ */
+@Component
+public class BatchInserter {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int batchSize;
+
+    public BatchInserter(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public <T> int insertAll(Iterable<T> entities) {
+        int count = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
@@ -29,11 +30,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDto> findAll(
+    public ResponseEntity<Collection<ItemRequestDto>> findAll(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
-        return itemRequestService.findAll(userId, from, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return itemRequestService.findAll(userId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemRequestService.findAll(userId, from, size));
     }
 
     @GetMapping("/{requestId}")
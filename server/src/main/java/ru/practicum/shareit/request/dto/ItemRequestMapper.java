@@ -23,6 +23,15 @@ public class ItemRequestMapper {
                 .build();
     }
 
+    public static ItemRequestDto toItemRequestDto(ItemRequestView itemRequest, List<ItemDto> items) {
+        return ItemRequestDto.builder()
+                .id(itemRequest.getId())
+                .description(itemRequest.getDescription())
+                .created(itemRequest.getCreated())
+                .items(items)
+                .build();
+    }
+
     public static ItemRequest toItemRequestItemRequestAddDto(ItemRequestAddDto itemRequestAddDto) {
         return ItemRequest.builder()
                 .id(itemRequestAddDto.getId())
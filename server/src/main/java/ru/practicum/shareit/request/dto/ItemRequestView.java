@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of an item request that {@link ItemRequestDto} needs, selected without loading the entity.
+ */
+public interface ItemRequestView {
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
@@ -2,12 +2,23 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestor_IdOrderByCreatedDesc(Long userId);
 
-    List<ItemRequest> findAllByRequestor_IdNot(Long userId, PageRequest pageRequest);
+    @Query("SELECT r.id AS id, r.description AS description, r.created AS created " +
+            "FROM ItemRequest r " +
+            "WHERE r.requestor.id <> ?1 AND r.id > ?2 " +
+            "ORDER BY r.id")
+    List<ItemRequestView> findViewsByRequestorNot(Long userId, Long afterId, PageRequest pageRequest);
+
+    @Query("select r.id from ItemRequest r where r.id in ?1")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Collection;
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     Collection<ItemRequestDto> findAll(Long userId, int from, int size);
 
+    CursorPage<ItemRequestDto> findAll(Long userId, String cursor, int size);
+
     ItemRequestDto getRequest(Long userId, Long requestId);
 }
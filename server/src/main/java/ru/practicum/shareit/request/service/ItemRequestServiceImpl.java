@@ -10,9 +10,12 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -51,15 +54,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("Получен запрос на получение списка запросов вещей пользователя с id {}", userId);
         getUserById(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(userId);
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
 
-        Map<Long, ItemDto> itemsMap = itemRepository.findAllByRequest_IdIn(itemRequests.stream()
+        Map<Long, List<ItemDto>> itemsMap = itemRepository.findAllByRequest_IdIn(itemRequests.stream()
                         .map(ItemRequest::getId)
                         .collect(Collectors.toList())).stream()
-                .collect(Collectors.toMap(item -> item.getRequest().getId(), ItemMapper::toItemDto));
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
 
         return itemRequests.stream()
-                .map(ItemRequest -> ItemRequestMapper.toItemRequestDto(ItemRequest, itemsMap.containsKey(ItemRequest.getId())
-                        ? List.of(itemsMap.get(ItemRequest.getId())) : List.of()))
+                .map(itemRequest -> ItemRequestMapper.toItemRequestDto(itemRequest,
+                        itemsMap.getOrDefault(itemRequest.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
@@ -69,17 +76,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("Получен запрос на получение списка всех запросов вещей от пользователя с id {}", userId);
         getUserById(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_IdNot(userId, pageRequest);
-
-        Map<Long, ItemDto> itemsMap = itemRepository.findAllByRequest_IdIn(itemRequests.stream()
-                        .map(ItemRequest::getId)
-                        .collect(Collectors.toList())).stream()
-                .collect(Collectors.toMap(item -> item.getRequest().getId(), ItemMapper::toItemDto));
+        return toItemRequestDtos(itemRequestRepository.findViewsByRequestorNot(userId, 0L, pageRequest));
+    }
 
-        return itemRequests.stream()
-                .map(ItemRequest -> ItemRequestMapper.toItemRequestDto(ItemRequest, itemsMap.containsKey(ItemRequest.getId())
-                        ? List.of(itemsMap.get(ItemRequest.getId())) : List.of()))
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDto> findAll(Long userId, String cursor, int size) {
+        log.info("Получен запрос страницы запросов вещей от пользователя с id {} после курсора {}", userId, cursor);
+        getUserById(userId);
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        Long afterId = Cursor.decode(cursor).map(Cursor::getId).orElse(0L);
+        List<ItemRequestView> itemRequests = itemRequestRepository.findViewsByRequestorNot(userId, afterId, pageRequest);
+        return CursorPage.of(itemRequests, size, itemRequest -> Cursor.of(itemRequest.getId()))
+                .mapAll(this::toItemRequestDtos);
     }
 
     @Override
@@ -95,6 +104,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.toItemRequestDto(itemRequest, items);
     }
 
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequestView> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ItemDto>> itemsMap = itemRepository.findViewsByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequestView::getId)
+                        .collect(Collectors.toList())).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.toItemRequestDto(itemRequest,
+                        itemsMap.getOrDefault(itemRequest.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     private User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
@@ -0,0 +1,18 @@
+-- Booker-side state queries: ALL and PAST walk the index in end_date DESC, id DESC order,
+-- CURRENT and FUTURE filter start_date on the same ordered range.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_date DESC, id DESC);
+
+-- WAITING and REJECTED: equality on booker_id and status, already sorted for the page.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_end ON bookings (booker_id, status, end_date DESC, id DESC);
+
+-- Owner-side state queries reach bookings through items.owner_id.
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date DESC, id DESC);
+
+-- Owner WAITING/REJECTED, last/next booking lookups and overlap checks.
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC);
@@ -0,0 +1,12 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id);
+
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_owner_id FOREIGN KEY (owner_id) REFERENCES users (id);
+
+-- Owner-side state queries now filter bookings directly instead of joining items.
+DROP INDEX IF EXISTS idx_bookings_item_end;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (owner_id, end_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_end ON bookings (owner_id, status, end_date DESC, id DESC);
@@ -0,0 +1,11 @@
+-- Hibernate allocates ids from these sequences in blocks of 50 (pooled optimizer), which keeps JDBC insert
+-- batching enabled. INCREMENT BY must match allocationSize on the entities.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY ${id_allocation_size};
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY ${id_allocation_size};
@@ -0,0 +1,12 @@
+-- Move the new sequences past ids already issued by the identity columns. The pooled optimizer treats the value it
+-- gets as the top of a block and hands out the ${id_allocation_size} ids below it, so the next value has to be
+-- MAX(id) + ${id_allocation_size}, not MAX(id) + 1.
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + ${id_allocation_size} FROM users), false);
+
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(id), 0) + ${id_allocation_size} FROM requests), false);
+
+SELECT setval('items_seq', (SELECT COALESCE(MAX(id), 0) + ${id_allocation_size} FROM items), false);
+
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + ${id_allocation_size} FROM bookings), false);
+
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + ${id_allocation_size} FROM comments), false);
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingIntervalsTest {
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private BookingIntervals intervals;
+
+    @BeforeEach
+    public void beforeEach() {
+        intervals = new BookingIntervals();
+        intervals.add(now, now.plusDays(2));
+        intervals.add(now.plusDays(5), now.plusDays(6));
+    }
+
+    @Test
+    public void overlaps() {
+        assertTrue(intervals.overlaps(now.minusDays(1), now.plusHours(1)));
+        assertTrue(intervals.overlaps(now.plusDays(1), now.plusDays(7)));
+        assertTrue(intervals.overlaps(now.plusDays(4), now.plusDays(10)));
+        assertFalse(intervals.overlaps(now.minusDays(1), now));
+        assertFalse(intervals.overlaps(now.plusDays(2), now.plusDays(5)));
+        assertFalse(intervals.overlaps(now.plusDays(6), now.plusDays(7)));
+    }
+
+    @Test
+    public void addMergesOverlappingAndAdjacentIntervals() {
+        intervals.add(now.plusDays(2), now.plusDays(3));
+        assertEquals(2, intervals.size());
+        intervals.add(now.plusDays(1), now.plusDays(5));
+        assertEquals(1, intervals.size());
+        assertTrue(intervals.overlaps(now.plusDays(3), now.plusDays(4)));
+        assertFalse(intervals.overlaps(now.plusDays(6), now.plusDays(7)));
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -19,6 +21,8 @@ import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
@@ -31,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -127,6 +132,27 @@ public class BookingControllerTest {
         verify(bookingService, Mockito.times(1)).update(userId, bookingId, "true");
     }
 
+    @Test
+    public void updateAllBookings() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+        when(bookingService.updateAll(any(), any()))
+                .thenReturn(List.of(new BookingDecisionResultDto(1L, BookingStatus.APPROVED, null),
+                        new BookingDecisionResultDto(2L, BookingStatus.WAITING, "Невозможно изменить статус")));
+
+        mockMvc.perform(
+                        patch("/bookings/batch")
+                                .content(objectMapper.writeValueAsString(decisions))
+                                .header("X-Sharer-User-Id", userId)
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("APPROVED")))
+                .andExpect(jsonPath("$[1].error").isString());
+
+        verify(bookingService, Mockito.times(1)).updateAll(any(), any());
+    }
+
     @Test
     public void getBooking() throws Exception {
         when(bookingService.getBooking(userId, bookingId))
@@ -224,4 +250,22 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].booker.id", is(1)));
         verify(bookingService, Mockito.times(1)).findAllByOwner(userId, BookingState.ALL, 0, 10);
     }
+
+    @Test
+    public void findAllByOwnerWithCursor() throws Exception {
+        when(bookingService.findAllByOwner(userId, BookingState.ALL, "", 10))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
+        mockMvc.perform(
+                        get("/bookings/owner")
+                                .header("X-Sharer-User-Id", userId)
+                                .param("state", "ALL")
+                                .param("cursor", "")
+                                .characterEncoding(StandardCharsets.UTF_8)
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+        verify(bookingService, Mockito.times(1)).findAllByOwner(userId, BookingState.ALL, "", 10);
+    }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs the booking state queries through the real repositories against Postgres, captures the SQL Hibernate sends
+ * and checks its generic plan with sequential scans disabled: a "Seq Scan on bookings" left in the plan means no
+ * index can serve the query.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.repository.BookingQueryPlanTest$CapturingInspector")
+public class BookingQueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+    private static final PageRequest SORTED_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "end", "id"));
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    static Stream<Arguments> stateQueries() {
+        return Stream.of(
+                query("booker ALL", repository -> repository.findViewsByBooker(1L, PAGE)),
+                query("booker CURRENT", repository -> repository.findCurrentViewsByBooker(1L, NOW, PAGE)),
+                query("booker PAST", repository -> repository.findPastViewsByBooker(1L, NOW, PAGE)),
+                query("booker FUTURE", repository -> repository.findFutureViewsByBooker(1L, NOW, PAGE)),
+                query("booker WAITING", repository -> repository.findViewsByBookerAndStatus(1L, BookingStatus.WAITING, PAGE)),
+                query("booker page", repository -> repository.findPageByBooker(1L, NOW, 1L, PAGE)),
+                query("owner ALL", repository -> repository.findByOwnerId(1L, SORTED_PAGE)),
+                query("owner CURRENT", repository -> repository.findByOwnerIdAndStartIsBeforeAndEndIsAfter(1L, NOW, NOW, SORTED_PAGE)),
+                query("owner PAST", repository -> repository.findByOwnerIdAndEndIsBefore(1L, NOW, SORTED_PAGE)),
+                query("owner FUTURE", repository -> repository.findByOwnerIdAndStartIsAfter(1L, NOW, SORTED_PAGE)),
+                query("owner WAITING", repository -> repository.findByOwnerIdAndStatus(1L, BookingStatus.WAITING, SORTED_PAGE)),
+                query("item overlap", repository -> repository.existsByItem_IdAndStatusAndStartBeforeAndEndAfter(
+                        1L, BookingStatus.APPROVED, NOW.plusDays(1), NOW)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("stateQueries")
+    public void stateQueriesUseIndexes(String name, Consumer<BookingRepository> query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.accept(bookingRepository);
+        List<String> statements = List.copyOf(CapturingInspector.STATEMENTS);
+        String sql = statements.stream()
+                .filter(statement -> statement.contains("bookings"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("Запрос к bookings не выполнен: " + statements));
+
+        String plan = explain(sql);
+
+        Assertions.assertFalse(plan.contains("Seq Scan on bookings"), sql + "\n" + plan);
+    }
+
+    private static Arguments query(String name, Consumer<BookingRepository> query) {
+        return Arguments.of(name, query);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            boolean prepared = false;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                int parameters = 0;
+                StringBuilder numbered = new StringBuilder();
+                for (char c : sql.toCharArray()) {
+                    if (c == '?') {
+                        numbered.append('$').append(++parameters);
+                    } else {
+                        numbered.append(c);
+                    }
+                }
+                statement.execute("PREPARE plan_check AS " + numbered);
+                prepared = true;
+                String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    if (prepared) {
+                        statement.execute("DEALLOCATE plan_check");
+                    }
+                    statement.execute("RESET enable_seqscan");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
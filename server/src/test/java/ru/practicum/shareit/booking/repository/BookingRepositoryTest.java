@@ -7,7 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
@@ -22,9 +22,7 @@ public class BookingRepositoryTest {
     private TestEntityManager entityManager;
     @Autowired
     private BookingRepository repository;
-    private final int from = 0;
     private final int size = 10;
-    private final PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "end"));
     private final User user1 = User.builder().name("TestUser").email("test@email.com").build();
     private final User user2 = User.builder().name("TestUser1").email("test1@email.com").build();
     private final Item item1 = Item.builder().name("TestItem1").description("description1").available(true).owner(user1).build();
@@ -44,30 +42,36 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    public void findByBooker_Id() {
-        List<Booking> bookings = repository.findByBooker_Id(user1.getId(), pageRequest);
-        Assertions.assertEquals(1, bookings.size());
-        Assertions.assertEquals(booking2, bookings.get(0));
-    }
-
-    @Test
-    public void findByBooker_IdAndEndIsBefore() {
-        List<Booking> bookings = repository.findByBooker_IdAndEndIsBefore(
+    public void findPastViewsByBooker() {
+        List<BookingView> bookings = repository.findPastViewsByBooker(
                 user2.getId(),
                 LocalDateTime.now().plusDays(5),
-                pageRequest);
+                PageRequest.of(0, size));
         Assertions.assertEquals(1, bookings.size());
-        Assertions.assertEquals(booking1, bookings.get(0));
+        Assertions.assertEquals(booking1.getId(), bookings.get(0).getId());
     }
 
     @Test
-    public void findByBooker_IdAndStartIsAfter() {
-        List<Booking> bookings = repository.findByBooker_IdAndStartIsAfter(
+    public void findFutureViewsByBooker() {
+        List<BookingView> bookings = repository.findFutureViewsByBooker(
                 user1.getId(),
                 LocalDateTime.now(),
-                pageRequest);
+                PageRequest.of(0, size));
+        Assertions.assertEquals(1, bookings.size());
+        Assertions.assertEquals(booking2.getId(), bookings.get(0).getId());
+    }
+
+    @Test
+    public void findViewsByBooker() {
+        List<BookingView> bookings = repository.findViewsByBooker(user2.getId(), PageRequest.of(0, size));
         Assertions.assertEquals(1, bookings.size());
-        Assertions.assertEquals(booking2, bookings.get(0));
+        BookingView view = bookings.get(0);
+        Assertions.assertEquals(booking1.getId(), view.getId());
+        Assertions.assertEquals(booking1.getEnd(), view.getEndDate());
+        Assertions.assertEquals(item1.getId(), view.getItemId());
+        Assertions.assertEquals(item1.getName(), view.getItemName());
+        Assertions.assertNull(view.getItemRequestId());
+        Assertions.assertEquals(user2.getEmail(), view.getBookerEmail());
     }
 
     @Test
@@ -87,4 +91,34 @@ public class BookingRepositoryTest {
 
         Assertions.assertEquals(booking2, result);
     }
+
+    @Test
+    public void findLastAndNextBookings() {
+        entityManager.persist(Booking.builder().start(LocalDateTime.now().minusDays(5)).end(LocalDateTime.now().minusDays(4))
+                .item(item1).booker(user2).status(BookingStatus.APPROVED).build());
+        entityManager.persist(Booking.builder().start(LocalDateTime.now().plusDays(2)).end(LocalDateTime.now().plusDays(3))
+                .item(item2).booker(user1).status(BookingStatus.APPROVED).build());
+        entityManager.persist(Booking.builder().start(LocalDateTime.now().minusHours(1)).end(LocalDateTime.now().plusHours(1))
+                .item(item2).booker(user1).status(BookingStatus.REJECTED).build());
+        entityManager.flush();
+
+        List<Booking> result = repository.findLastAndNextBookings(List.of(item1.getId(), item2.getId()), LocalDateTime.now());
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.containsAll(List.of(booking1, booking2)));
+    }
+
+    @Test
+    public void findLastAndNextBookings_loadsDetachedRows() {
+        entityManager.clear();
+
+        List<Booking> result = repository.findLastAndNextBookings(List.of(item1.getId(), item2.getId()),
+                LocalDateTime.now().plusDays(2));
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.stream().anyMatch(booking -> booking.getId().equals(booking1.getId())
+                && booking.getOwnerId().equals(user1.getId())));
+        Assertions.assertTrue(result.stream().anyMatch(booking -> booking.getId().equals(booking2.getId())
+                && booking.getOwnerId().equals(user2.getId())));
+    }
 }
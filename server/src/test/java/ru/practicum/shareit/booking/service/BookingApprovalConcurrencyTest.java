@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 8;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    private UserDto owner;
+    private UserDto booker;
+    private ItemDto item;
+
+    @BeforeEach
+    public void beforeEach() {
+        owner = userService.create(UserDto.builder().name("owner").email("owner@test.ru").build());
+        booker = userService.create(UserDto.builder().name("booker").email("booker@test.ru").build());
+        item = itemService.create(owner.getId(), ItemDto.builder().name("Дрель").description("Дрель").available(true).build());
+    }
+
+    @Test
+    void approveSameIntervalConcurrently() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            bookingIds.add(createBooking(start, start.plusDays(1)));
+        }
+
+        AtomicInteger rejected = approveConcurrently(bookingIds);
+
+        assertEquals(1, approvedBookings().size());
+        assertEquals(bookingIds.size() - 1, rejected.get());
+    }
+
+    @Test
+    void approveOverlappingIntervalsConcurrently() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bookingIds.add(createBooking(start.plusHours(i), start.plusHours(i + 3)));
+        }
+
+        approveConcurrently(bookingIds);
+
+        List<Booking> approved = approvedBookings();
+        assertFalse(approved.isEmpty());
+        for (int i = 0; i < approved.size(); i++) {
+            for (int j = i + 1; j < approved.size(); j++) {
+                Booking first = approved.get(i);
+                Booking second = approved.get(j);
+                assertFalse(first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd()),
+                        String.format("Пересечение бронирований %d и %d", first.getId(), second.getId()));
+            }
+        }
+    }
+
+    private Long createBooking(LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(booker.getId(), new BookingAddDto(start, end, item.getId())).getId();
+    }
+
+    private AtomicInteger approveConcurrently(List<Long> bookingIds) throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long bookingId : bookingIds) {
+                futures.add(executor.submit(() -> {
+                    ready.await();
+                    try {
+                        bookingService.update(owner.getId(), bookingId, "true");
+                    } catch (ValidationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return rejected;
+    }
+
+    private List<Booking> approvedBookings() {
+        return bookingRepository.findByItem_IdInAndStatus(List.of(item.getId()), BookingStatus.APPROVED).stream()
+                .sorted((first, second) -> first.getStart().compareTo(second.getStart()))
+                .collect(Collectors.toList());
+    }
+}
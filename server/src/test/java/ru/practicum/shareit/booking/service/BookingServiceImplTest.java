@@ -8,6 +8,8 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -44,60 +47,60 @@ public class BookingServiceImplTest {
     private final ItemService itemService;
 
     private User user;
+    private User booker;
 
     private Item item;
+    private Long unavailableItemId;
+    private Long currentBookingId;
+    private Long pastBookingId;
+    private Long futureBookingId;
 
     @BeforeEach
     public void beforeEach() {
         user = User.builder()
-                .id(1L)
                 .name("test")
                 .email("test@test.ru").build();
         user = toUser(userService.create(toUserDto(user)));
         item = Item.builder()
-                .id(1L)
                 .owner(user)
                 .description("Test")
                 .name("Test")
                 .available(true).build();
-        item = toItem(itemService.create(1L, toItemDto(item)));
-        User user1 = User.builder()
-                .id(2L)
+        item = toItem(itemService.create(user.getId(), toItemDto(item)));
+        booker = User.builder()
                 .name("test1")
                 .email("test1@test.ru").build();
-        user1 = toUser(userService.create(toUserDto(user1)));
+        booker = toUser(userService.create(toUserDto(booker)));
         Item item1 = Item.builder()
-                .id(2L)
-                .owner(user1)
+                .owner(booker)
                 .description("Test1")
                 .name("Test1")
                 .available(true).build();
-        item1 = toItem(itemService.create(2L, toItemDto(item1)));
+        itemService.create(booker.getId(), toItemDto(item1));
         Item item2 = Item.builder()
-                .id(3L)
                 .owner(user)
                 .description("Test2")
                 .name("Test2")
                 .available(false).build();
-        item2 = toItem(itemService.create(1L, toItemDto(item2)));
-        Booking booking = bookingRepository.save(Booking.builder()
+        unavailableItemId = itemService.create(user.getId(), toItemDto(item2)).getId();
+        currentBookingId = bookingRepository.save(Booking.builder()
                 .item(item)
-                .booker(user1)
+                .booker(booker)
                 .start(LocalDateTime.now().minusHours(1))
                 .end(LocalDateTime.now().plusHours(1))
-                .status(BookingStatus.WAITING).build());
-        Booking booking1 = bookingRepository.save(Booking.builder()
+                .status(BookingStatus.WAITING).build()).getId();
+        pastBookingId = bookingRepository.save(Booking.builder()
                 .item(item)
-                .booker(user1)
+                .booker(booker)
                 .start(LocalDateTime.now().minusHours(2))
                 .end(LocalDateTime.now().minusHours(1))
-                .status(BookingStatus.WAITING).build());
-        Booking booking2 = bookingRepository.save(Booking.builder()
+                .status(BookingStatus.WAITING).build()).getId();
+        futureBookingId = bookingRepository.save(Booking.builder()
                 .item(item)
-                .booker(user1)
+                .booker(booker)
                 .start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusHours(2))
-                .status(BookingStatus.WAITING).build());
+                .status(BookingStatus.WAITING).build()).getId();
     }
 
     @Test
@@ -106,10 +109,10 @@ public class BookingServiceImplTest {
                 .itemId(item.getId())
                 .start(LocalDateTime.now().minusHours(1))
                 .end(LocalDateTime.now()).build();
-        bookingService.create(2L, bookingAddDto);
-        List<BookingDto> testBookings1 = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.WAITING, 0, 10));
+        bookingService.create(booker.getId(), bookingAddDto);
+        List<BookingDto> testBookings1 = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.WAITING, 0, 10));
 
-        assertEquals(2L, testBookings1.get(3).getId());
+        assertEquals(pastBookingId, testBookings1.get(3).getId());
         assertTrue(testBookings1.get(2).getStart().isAfter(testBookings1.get(3).getStart()));
         assertTrue(testBookings1.get(3).getStart().isBefore(testBookings1.get(1).getStart()));
     }
@@ -137,7 +140,7 @@ public class BookingServiceImplTest {
     @Test
     void createBooking_OwnerItem() {
         BookingAddDto bookingAddDto = BookingAddDto.builder()
-                .itemId(1L).start(LocalDateTime.now().plusHours(1))
+                .itemId(item.getId()).start(LocalDateTime.now().plusHours(1))
                 .end(LocalDateTime.now().plusHours(2)).build();
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.create(user.getId(), bookingAddDto));
@@ -146,63 +149,84 @@ public class BookingServiceImplTest {
     @Test
     void createBooking_Unavailable() {
         BookingAddDto bookingAddDto = BookingAddDto.builder()
-                .itemId(3L)
+                .itemId(unavailableItemId)
                 .start(LocalDateTime.now().minusHours(1))
                 .end(LocalDateTime.now().minusHours(2)).build();
 
         assertThrows(ValidationException.class, () -> bookingService.create(user.getId(), bookingAddDto));
     }
 
+    @Test
+    void approveBooking_ApprovedOutsideIndex() {
+        User booker = toUser(userService.create(toUserDto(User.builder().name("test2").email("test2@test.ru").build())));
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+        BookingAddDto bookingAddDto = BookingAddDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusDays(1)).build();
+        bookingService.create(booker.getId(), bookingAddDto);
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        BookingDto booking = bookingService.create(booker.getId(), bookingAddDto);
+
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        assertThrows(ValidationException.class, () -> bookingService.update(user.getId(), booking.getId(), "true"));
+    }
+
     @Test
     void approvedBooking() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        Collection<BookingDto> testBookings = bookingService.findAllByUser(2L, BookingState.WAITING, 0, 10);
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        Collection<BookingDto> testBookings = bookingService.findAllByUser(booker.getId(), BookingState.WAITING, 0, 10);
 
         assertEquals(1, testBookings.size());
 
-        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.CURRENT, 0, 10));
+        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.CURRENT, 0, 10));
 
         assertEquals(1, testBookingStatusCurrent.size());
-        assertEquals(1L, testBookingStatusCurrent.get(0).getId());
+        assertEquals(currentBookingId, testBookingStatusCurrent.get(0).getId());
     }
 
     @Test
     void disApprovedBooking() throws ValidationException {
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.REJECTED, 0, 10));
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.REJECTED, 0, 10));
 
         assertEquals(1, testBookingStatusRejected.size());
-        assertEquals(3L, testBookingStatusRejected.get(0).getId());
+        assertEquals(futureBookingId, testBookingStatusRejected.get(0).getId());
     }
 
     @Test
     void approvedBooking_NotOwner() {
-        assertThrows(BookingNotFoundException.class, () -> bookingService.update(2L, 1L, "true"));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.update(booker.getId(), currentBookingId, "true"));
     }
 
     @Test
     void approvedBooking_InvalidUser() {
-        assertThrows(BookingNotFoundException.class, () -> bookingService.update(100L, 1L, "true"));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.update(100L, currentBookingId, "true"));
     }
 
     @Test
     void approvedBooking_InvalidBooking() {
-        assertThrows(BookingNotFoundException.class, () -> bookingService.update(1L, 100L, "true"));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.update(user.getId(), 100L, "true"));
     }
 
     @Test
     void approvedBooking_Duplicate() {
-        bookingService.update(1L, 1L, "true");
-        assertThrows(ValidationException.class, () -> bookingService.update(1L, 1L, "true"));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        assertThrows(ValidationException.class, () -> bookingService.update(user.getId(), currentBookingId, "true"));
     }
 
     @Test
     void getBookingById() {
-        BookingDto bookingDto = bookingService.getBooking(1L, 1L);
+        BookingDto bookingDto = bookingService.getBooking(user.getId(), currentBookingId);
 
-        assertEquals(1L, bookingDto.getId());
-        assertEquals(1L, bookingDto.getItem().getId());
+        assertEquals(currentBookingId, bookingDto.getId());
+        assertEquals(item.getId(), bookingDto.getItem().getId());
         assertEquals("test1", bookingDto.getBooker().getName());
         assertEquals(BookingStatus.WAITING, bookingDto.getStatus());
         assertTrue(LocalDateTime.now().isBefore(bookingDto.getEnd()));
@@ -211,19 +235,19 @@ public class BookingServiceImplTest {
 
     @Test
     void getBookingById_InvalidUser() {
-        assertThrows(BookingNotFoundException.class, () -> bookingService.getBooking(99L, 1L));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.getBooking(99L, currentBookingId));
     }
 
     @Test
     void getBookingById_InvalidItem() {
-        assertThrows(BookingNotFoundException.class, () -> bookingService.getBooking(1L, 111L));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.getBooking(user.getId(), 111L));
     }
 
     @Test
     void findAllByUserByStateWaiting() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        Collection<BookingDto> testBookings = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.WAITING, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        Collection<BookingDto> testBookings = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.WAITING, 0, 10));
 
         assertEquals(1, testBookings.size());
     }
@@ -235,34 +259,34 @@ public class BookingServiceImplTest {
 
     @Test
     void findAllByUserByStateRejected() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.REJECTED, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.REJECTED, 0, 10));
 
         assertEquals(1, testBookingStatusRejected.size());
-        assertEquals(3L, testBookingStatusRejected.get(0).getId());
+        assertEquals(futureBookingId, testBookingStatusRejected.get(0).getId());
     }
 
     @Test
     void findAllByUserStateCurrent() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.CURRENT, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.CURRENT, 0, 10));
 
         assertEquals(1, testBookingStatusCurrent.size());
-        assertEquals(1L, testBookingStatusCurrent.get(0).getId());
+        assertEquals(currentBookingId, testBookingStatusCurrent.get(0).getId());
     }
 
     @Test
     void findAllByUserByStateAll() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusAll = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.ALL, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusAll = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.ALL, 0, 10));
 
         assertEquals(3, testBookingStatusAll.size());
-        assertEquals(3L, testBookingStatusAll.get(0).getId());
-        assertEquals(1L, testBookingStatusAll.get(1).getId());
-        assertEquals(2L, testBookingStatusAll.get(2).getId());
+        assertEquals(futureBookingId, testBookingStatusAll.get(0).getId());
+        assertEquals(currentBookingId, testBookingStatusAll.get(1).getId());
+        assertEquals(pastBookingId, testBookingStatusAll.get(2).getId());
     }
 
     @Test
@@ -272,14 +296,14 @@ public class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerBookingByStateAll() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusAll = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.ALL, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusAll = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.ALL, 0, 10));
 
         assertEquals(3, testBookingStatusAll.size());
-        assertEquals(3L, testBookingStatusAll.get(0).getId());
-        assertEquals(1L, testBookingStatusAll.get(1).getId());
-        assertEquals(2L, testBookingStatusAll.get(2).getId());
+        assertEquals(futureBookingId, testBookingStatusAll.get(0).getId());
+        assertEquals(currentBookingId, testBookingStatusAll.get(1).getId());
+        assertEquals(pastBookingId, testBookingStatusAll.get(2).getId());
     }
 
     @Test
@@ -289,33 +313,33 @@ public class BookingServiceImplTest {
 
     @Test
     void findAllByUserByStatePast() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusPast = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.PAST, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusPast = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.PAST, 0, 10));
 
         assertEquals(1, testBookingStatusPast.size());
-        assertEquals(2L, testBookingStatusPast.get(0).getId());
+        assertEquals(pastBookingId, testBookingStatusPast.get(0).getId());
     }
 
     @Test
     void findAllByUserByStateFuture() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusFuture = new ArrayList<>(bookingService.findAllByUser(2L, BookingState.FUTURE, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusFuture = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.FUTURE, 0, 10));
 
         assertEquals(1, testBookingStatusFuture.size());
-        assertEquals(3L, testBookingStatusFuture.get(0).getId());
+        assertEquals(futureBookingId, testBookingStatusFuture.get(0).getId());
     }
 
     @Test
     void findAllByOwnerByStateWaiting() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookings = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.WAITING, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookings = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.WAITING, 0, 10));
 
         assertEquals(1, testBookings.size());
-        assertEquals(2L, testBookings.get(0).getId());
-        assertEquals(1L, testBookings.get(0).getItem().getId());
+        assertEquals(pastBookingId, testBookings.get(0).getId());
+        assertEquals(item.getId(), testBookings.get(0).getItem().getId());
     }
 
     @Test
@@ -325,45 +349,126 @@ public class BookingServiceImplTest {
 
     @Test
     void findAllByOwnerByStateRejected() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.REJECTED, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusRejected = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.REJECTED, 0, 10));
 
         assertEquals(1, testBookingStatusRejected.size());
-        assertEquals(3L, testBookingStatusRejected.get(0).getId());
-        assertEquals(1L, testBookingStatusRejected.get(0).getItem().getId());
+        assertEquals(futureBookingId, testBookingStatusRejected.get(0).getId());
+        assertEquals(item.getId(), testBookingStatusRejected.get(0).getItem().getId());
     }
 
     @Test
     void findAllByOwnerByStateCurrent() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.CURRENT, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusCurrent = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.CURRENT, 0, 10));
 
         assertEquals(1, testBookingStatusCurrent.size());
-        assertEquals(1L, testBookingStatusCurrent.get(0).getId());
-        assertEquals(1L, testBookingStatusCurrent.get(0).getItem().getId());
+        assertEquals(currentBookingId, testBookingStatusCurrent.get(0).getId());
+        assertEquals(item.getId(), testBookingStatusCurrent.get(0).getItem().getId());
     }
 
     @Test
     void findAllByOwnerByStatePast() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusPast = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.PAST, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusPast = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.PAST, 0, 10));
 
         assertEquals(1, testBookingStatusPast.size());
-        assertEquals(2L, testBookingStatusPast.get(0).getId());
-        assertEquals(1L, testBookingStatusPast.get(0).getItem().getId());
+        assertEquals(pastBookingId, testBookingStatusPast.get(0).getId());
+        assertEquals(item.getId(), testBookingStatusPast.get(0).getItem().getId());
     }
 
     @Test
     void findAllByOwnerByStateFuture() throws ValidationException {
-        bookingService.update(1L, 1L, "true");
-        bookingService.update(1L, 3L, "false");
-        List<BookingDto> testBookingStatusFuture = new ArrayList<>(bookingService.findAllByOwner(1L, BookingState.FUTURE, 0, 10));
+        bookingService.update(user.getId(), currentBookingId, "true");
+        bookingService.update(user.getId(), futureBookingId, "false");
+        List<BookingDto> testBookingStatusFuture = new ArrayList<>(bookingService.findAllByOwner(user.getId(), BookingState.FUTURE, 0, 10));
 
         assertEquals(1, testBookingStatusFuture.size());
-        assertEquals(3L, testBookingStatusFuture.get(0).getId());
-        assertEquals(1L, testBookingStatusFuture.get(0).getItem().getId());
+        assertEquals(futureBookingId, testBookingStatusFuture.get(0).getId());
+        assertEquals(item.getId(), testBookingStatusFuture.get(0).getItem().getId());
+    }
+
+    @Test
+    void findAllByUserByCursor() {
+        bookingService.update(user.getId(), currentBookingId, "true");
+        List<BookingDto> expected = new ArrayList<>(bookingService.findAllByUser(booker.getId(), BookingState.ALL, 0, 10));
+        List<BookingDto> pages = new ArrayList<>();
+        CursorPage<BookingDto> page = bookingService.findAllByUser(booker.getId(), BookingState.ALL, "", 2);
+        pages.addAll(page.getItems());
+        while (page.getNextCursor() != null) {
+            page = bookingService.findAllByUser(booker.getId(), BookingState.ALL, page.getNextCursor(), 2);
+            pages.addAll(page.getItems());
+        }
+
+        assertEquals(3, pages.size());
+        assertEquals(expected, pages);
+    }
+
+    @Test
+    void findAllByOwnerByCursor() {
+        CursorPage<BookingDto> first = bookingService.findAllByOwner(user.getId(), BookingState.WAITING, "", 1);
+        CursorPage<BookingDto> second = bookingService.findAllByOwner(user.getId(), BookingState.WAITING, first.getNextCursor(), 1);
+        CursorPage<BookingDto> third = bookingService.findAllByOwner(user.getId(), BookingState.WAITING, second.getNextCursor(), 1);
+
+        assertEquals(futureBookingId, first.getItems().get(0).getId());
+        assertEquals(currentBookingId, second.getItems().get(0).getId());
+        assertEquals(pastBookingId, third.getItems().get(0).getId());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void findAllByOwnerByCursor_InvalidCursor() {
+        assertThrows(ValidationException.class, () -> bookingService.findAllByOwner(user.getId(), BookingState.ALL, "broken", 10));
+    }
+
+    @Test
+    void updateAll() {
+        Booking overlapping = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(LocalDateTime.now().minusMinutes(30))
+                .end(LocalDateTime.now().plusMinutes(30))
+                .status(BookingStatus.WAITING).build());
+
+        List<BookingDecisionResultDto> results = bookingService.updateAll(user.getId(), List.of(
+                new BookingDecisionDto(currentBookingId, true),
+                new BookingDecisionDto(pastBookingId, false),
+                new BookingDecisionDto(overlapping.getId(), true),
+                new BookingDecisionDto(currentBookingId, false),
+                new BookingDecisionDto(100L, true)));
+
+        assertEquals(5, results.size());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertNull(results.get(0).getError());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(BookingStatus.WAITING, results.get(2).getStatus());
+        assertNotNull(results.get(2).getError());
+        assertEquals(BookingStatus.APPROVED, results.get(3).getStatus());
+        assertNotNull(results.get(3).getError());
+        assertNull(results.get(4).getStatus());
+        assertNotNull(results.get(4).getError());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(currentBookingId).orElseThrow().getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(pastBookingId).orElseThrow().getStatus());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateAll_WithoutDecision() {
+        List<BookingDecisionResultDto> results = bookingService.updateAll(user.getId(), List.of(new BookingDecisionDto(currentBookingId, null)));
+
+        assertEquals(BookingStatus.WAITING, results.get(0).getStatus());
+        assertNotNull(results.get(0).getError());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(currentBookingId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateAll_NotOwner() {
+        List<BookingDecisionResultDto> results = bookingService.updateAll(booker.getId(), List.of(new BookingDecisionDto(currentBookingId, true)));
+
+        assertNotNull(results.get(0).getError());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(currentBookingId).orElseThrow().getStatus());
     }
-}
\ No newline at end of file
+}
@@ -67,6 +67,25 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.description").value(itemDto.getDescription()));
     }
 
+    @Test
+    void importItemsTest() throws Exception {
+        when(itemService.importItems(anyLong(), any(), any()))
+                .thenReturn(ItemImportResultDto.builder().total(2).imported(1).failed(1)
+                        .errors(List.of(ItemImportErrorDto.builder().line(2L).error("Нельзя создать вещь без статуса доступа").build()))
+                        .build());
+
+        mockMvc.perform(
+                        post("/items/import")
+                                .content("{\"name\":\"item\",\"description\":\"description\",\"available\":true}\n{\"name\":\"item\"}\n")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .header("X-Sharer-User-Id", 1L)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+    }
+
     @Test
     void updateItemTest() throws Exception {
         when(itemService.update(anyLong(), any(), anyLong()))
@@ -141,4 +160,22 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.text").value(commentDto.getText()))
                 .andExpect(jsonPath("$.authorName").value(commentDto.getAuthorName()));
     }
+
+    @Test
+    void getAvailabilityTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        LocalDateTime end = start.plusDays(1);
+        when(itemService.getAvailability(anyLong(), anyLong(), any(), any()))
+                .thenReturn(new ItemAvailabilityDto(1L, start, end, true));
+
+        mockMvc.perform(
+                        get("/items/1/availability")
+                                .param("start", start.toString())
+                                .param("end", end.toString())
+                                .header("X-Sharer-User-Id", 1L)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.available", is(true)));
+    }
 }
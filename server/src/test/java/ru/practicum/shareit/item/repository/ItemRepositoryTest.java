@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -62,10 +63,9 @@ public class ItemRepositoryTest {
         Item item3 = Item.builder().name("Ручная Дрель").description("Ручная дрель").available(false).build();
         entityManager.persist(item3);
         entityManager.flush();
-        List<Item> items = itemRepository.search(text, pageRequest);
+        List<ItemView> items = itemRepository.searchViews(text, pageRequest);
 
         assertThat(items).hasSize(2);
-        assertThat(items).contains(item1, item2);
         assertThat(items.get(0).getId()).isEqualTo(item1.getId());
         assertThat(items.get(0).getName()).isEqualTo(item1.getName());
         assertThat(items.get(0).getDescription()).isEqualTo(item1.getDescription());
@@ -130,4 +130,18 @@ public class ItemRepositoryTest {
         assertThat(items.get(1).getName()).isEqualTo(item2.getName());
         assertThat(items.get(1).getDescription()).isEqualTo(item2.getDescription());
     }
+
+    @Test
+    public void findViewsByIdInOrder() {
+        Item item1 = Item.builder().name("TestItem1").description("description1").available(true).build();
+        entityManager.persist(item1);
+        Item item2 = Item.builder().name("TestItem2").description("description2").available(true).build();
+        entityManager.persist(item2);
+        entityManager.flush();
+
+        List<ItemView> items = itemRepository.findViewsByIdInOrder(List.of(item2.getId(), item1.getId()));
+
+        assertThat(items).extracting(ItemView::getId).containsExactly(item2.getId(), item1.getId());
+        assertThat(itemRepository.findViewsByIdInOrder(List.of())).isEmpty();
+    }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void beforeEach() {
+        ItemRepository itemRepository = Mockito.mock(ItemRepository.class);
+        when(itemRepository.findAllSearchDocuments()).thenReturn(List.of(
+                new ItemSearchDocument(1L, "Дрель", "Эллектрическая дрель", true),
+                new ItemSearchDocument(2L, "Ручная Дрель", "Ручная дрель", true),
+                new ItemSearchDocument(3L, "Ручная Дрель", "Ручная дрель", false),
+                new ItemSearchDocument(4L, "Отвертка", "Аккумуляторная отвертка", true)));
+        index = new ItemSearchIndex(itemRepository);
+    }
+
+    @AfterEach
+    public void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void searchIgnoresCaseAndUnavailableItems() {
+        assertEquals(List.of(1L, 2L), index.findIds("дРЕЛЬ", 0, 0, 10));
+        assertEquals(List.of(4L), index.findIds("аккумулятор", 0, 0, 10));
+        assertEquals(List.of(), index.findIds("пила", 0, 0, 10));
+    }
+
+    @Test
+    public void searchShortText() {
+        assertEquals(List.of(1L, 2L, 4L), index.findIds("р", 0, 0, 10));
+        assertEquals(List.of(2L), index.findIds("ру", 0, 0, 10));
+    }
+
+    @Test
+    public void searchPage() {
+        assertEquals(List.of(2L, 4L), index.findIds("р", 0, 1, 2));
+        assertEquals(List.of(), index.findIds("р", 0, 3, 2));
+    }
+
+    @Test
+    public void putReplacesPreviousText() {
+        index.findIds("дрель", 0, 0, 10);
+        index.put(Item.builder().id(1L).name("Пила").description("Ножовка").available(true).build());
+        index.put(Item.builder().id(5L).name("Дрель-шуруповерт").description("Новая").available(true).build());
+
+        assertEquals(List.of(2L, 5L), index.findIds("дрель", 0, 0, 10));
+        assertEquals(List.of(1L), index.findIds("ножов", 0, 0, 10));
+    }
+
+    @Test
+    public void putIsAppliedAfterCommit() {
+        index.findIds("дрель", 0, 0, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(Item.builder().id(1L).name("Пила").description("Ножовка").available(true).build());
+        index.put(Item.builder().id(5L).name("Дрель-шуруповерт").description("Новая").available(true).build());
+        assertEquals(List.of(1L, 2L), index.findIds("дрель", 0, 0, 10));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(List.of(2L, 5L), index.findIds("дрель", 0, 0, 10));
+        assertEquals(List.of(1L), index.findIds("ножов", 0, 0, 10));
+    }
+
+    @Test
+    public void putIsDroppedOnRollback() {
+        index.findIds("дрель", 0, 0, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        index.put(Item.builder().id(1L).name("Пила").description("Ножовка").available(true).build());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        assertEquals(List.of(1L, 2L), index.findIds("дрель", 0, 0, 10));
+        assertEquals(List.of(), index.findIds("ножов", 0, 0, 10));
+    }
+
+    @Test
+    public void caseFoldingKeepsLetterCount() {
+        index.put(Item.builder().id(6L).name("Straße").description("Schild").available(true).build());
+
+        assertEquals(List.of(6L), index.findIds("STRAßE", 0, 0, 10));
+        assertEquals(List.of(), index.findIds("strasse", 0, 0, 10));
+    }
+
+    @Test
+    public void supportsOnlyTextWithoutWildcards() {
+        assertTrue(index.supports("дрель"));
+        assertFalse(index.supports("др%ль"));
+        assertFalse(index.supports("др_ль"));
+        assertFalse(index.supports("др\\ль"));
+    }
+}
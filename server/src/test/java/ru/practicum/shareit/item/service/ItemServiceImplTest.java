@@ -5,6 +5,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingAddDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -13,6 +15,10 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -20,15 +26,19 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @Transactional
-@SpringBootTest(properties = "db.name=test", webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@SpringBootTest(properties = {"db.name=test", "shareit.search.mode=index"}, webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class ItemServiceImplTest {
     private final EntityManager em;
@@ -36,14 +46,15 @@ public class ItemServiceImplTest {
     private final UserService userService;
     private final BookingService bookingService;
     private final ItemRequestService itemRequestService;
+    private final ItemRepository itemRepository;
     private UserDto user1;
     private UserDto user2;
     private ItemRequestDto request;
     ItemDto itemDto = new ItemDto();
     CommentDto commentDto = new CommentDto();
 
-    private final BookingAddDto lastBookingDto = new BookingAddDto(LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(3), 1L);
-    private final BookingAddDto nextBookingDto = new BookingAddDto(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(5), 1L);
+    private final BookingAddDto lastBookingDto = new BookingAddDto(LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(3), null);
+    private final BookingAddDto nextBookingDto = new BookingAddDto(LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(5), null);
 
     @BeforeEach
     public void restart() {
@@ -57,7 +68,7 @@ public class ItemServiceImplTest {
         user1 = userService.create(UserDto.builder().name("User1").email("user1@test.ru").build());
         user2 = userService.create(UserDto.builder().name("User2").email("user2@test.ru").build());
         request = itemRequestService.create(user2.getId(), ItemRequestAddDto.builder().description("Request item").build());
-        itemDto.setRequestId(1L);
+        itemDto.setRequestId(request.getId());
         itemDto.setAvailable(true);
         itemDto.setDescription("Description item");
         itemDto.setName("New item");
@@ -66,7 +77,7 @@ public class ItemServiceImplTest {
     @Test
     public void createItemTest() {
         ItemDto item = itemService.create(user2.getId(), itemDto);
-        assertThat(item.getId(), equalTo(1L));
+        assertThat(item.getId(), notNullValue());
         assertThat(item.getRequestId(), equalTo(request.getId()));
         assertThat(item.getDescription(), equalTo(itemDto.getDescription()));
         assertThat(item.getName(), equalTo(itemDto.getName()));
@@ -76,9 +87,9 @@ public class ItemServiceImplTest {
     @Test
     public void updateItemTest() {
         ItemDto item = itemService.create(user1.getId(), itemDto);
-        ItemDto updateItem = ItemDto.builder().name("Update name").description("Description after update").available(false).requestId(1L).build();
+        ItemDto updateItem = ItemDto.builder().name("Update name").description("Description after update").available(false).requestId(request.getId()).build();
         ItemDto itemAfterUpdate = itemService.update(user1.getId(), updateItem, item.getId());
-        assertThat(itemAfterUpdate.getId(), equalTo(1L));
+        assertThat(itemAfterUpdate.getId(), equalTo(item.getId()));
         assertThat(itemAfterUpdate.getRequestId(), equalTo(request.getId()));
         assertThat(itemAfterUpdate.getDescription(), equalTo(updateItem.getDescription()));
         assertThat(itemAfterUpdate.getName(), equalTo(updateItem.getName()));
@@ -88,6 +99,8 @@ public class ItemServiceImplTest {
     @Test
     public void getItemTest() {
         ItemDto item = itemService.create(user1.getId(), itemDto);
+        lastBookingDto.setItemId(item.getId());
+        nextBookingDto.setItemId(item.getId());
         BookingDto lastBooking = bookingService.create(user2.getId(), lastBookingDto);
         BookingDto nextBooking = bookingService.create(user2.getId(), nextBookingDto);
         bookingService.update(user1.getId(), lastBooking.getId(), "true");
@@ -95,7 +108,7 @@ public class ItemServiceImplTest {
         commentDto.setText("Comment for item1");
         CommentDto comment = itemService.createComment(user2.getId(), item.getId(), commentDto);
         ItemDtoBooking itemDtoBooking = itemService.getItem(item.getId(), user1.getId());
-        assertThat(itemDtoBooking.getId(), equalTo(1L));
+        assertThat(itemDtoBooking.getId(), equalTo(item.getId()));
         assertThat(itemDtoBooking.getName(), equalTo(item.getName()));
         assertThat(itemDtoBooking.getDescription(), equalTo(item.getDescription()));
         assertThat(itemDtoBooking.getAvailable(), equalTo(item.getAvailable()));
@@ -108,6 +121,7 @@ public class ItemServiceImplTest {
     @Test
     public void findAllByOwnerItemsTest() {
         ItemDto item1 = itemService.create(user1.getId(), itemDto);
+        lastBookingDto.setItemId(item1.getId());
         BookingDto lastBooking = bookingService.create(user2.getId(), lastBookingDto);
         bookingService.update(user1.getId(), lastBooking.getId(), "true");
         ItemDto item2 = itemService.create(user1.getId(), ItemDto.builder().name("item2").description("Description item2").available(false).build());
@@ -140,15 +154,112 @@ public class ItemServiceImplTest {
         assertThat(itemList.get(0), equalTo(item));
     }
 
+    @Test
+    public void searchItemsMatchesLikeQueryTest() {
+        itemService.create(user1.getId(), itemDto);
+        itemService.create(user1.getId(), ItemDto.builder().name("Дрель").description("Эллектрическая дрель").available(true).build());
+        itemService.create(user2.getId(), ItemDto.builder().name("Ручная дрель").description("Старая").available(true).build());
+        itemService.create(user2.getId(), ItemDto.builder().name("Ручная Дрель").description("Ручная дрель").available(false).build());
+        ItemDto saw = itemService.create(user2.getId(), ItemDto.builder().name("Пила").description("Ножовка").available(true).build());
+        itemService.update(user2.getId(), ItemDto.builder().description("Ножовка по дереву, не дрель").build(), saw.getId());
+        for (String text : List.of("дрель", "ДРЕЛЬ", "ре", "item", "ножовка", "дерев", "пила", "%", "р_ч", "нет такого")) {
+            List<Long> expected = itemRepository.searchViews(text, PageRequest.of(0, 10)).stream()
+                    .map(ItemView::getId)
+                    .collect(Collectors.toList());
+            List<Long> actual = itemService.search(user1.getId(), text, 0, 10).stream()
+                    .map(ItemDto::getId)
+                    .collect(Collectors.toList());
+            assertThat(text, actual, equalTo(expected));
+        }
+        assertThat(itemService.search(user1.getId(), "дрель", 2, 2).stream().map(ItemDto::getId).collect(Collectors.toList()),
+                equalTo(List.of(saw.getId())));
+    }
+
+    @Test
+    public void getAvailabilityTest() {
+        ItemDto item = itemService.create(user1.getId(), itemDto);
+        nextBookingDto.setItemId(item.getId());
+        BookingDto nextBooking = bookingService.create(user2.getId(), nextBookingDto);
+        LocalDateTime start = nextBookingDto.getStart().minusDays(1);
+        LocalDateTime end = nextBookingDto.getStart().plusDays(1);
+        assertThat(itemService.getAvailability(user2.getId(), item.getId(), start, end).getAvailable(), is(true));
+        bookingService.update(user1.getId(), nextBooking.getId(), "true");
+        assertThat(itemService.getAvailability(user2.getId(), item.getId(), start, end).getAvailable(), is(false));
+        assertThat(itemService.getAvailability(user2.getId(), item.getId(), nextBookingDto.getEnd(), end.plusDays(5)).getAvailable(), is(true));
+    }
+
     @Test
     public void createCommentTest() {
         ItemDto item1 = itemService.create(user1.getId(), itemDto);
+        lastBookingDto.setItemId(item1.getId());
         bookingService.create(user2.getId(), lastBookingDto);
         commentDto.setText("Comment for item1");
         CommentDto comment = itemService.createComment(user2.getId(), item1.getId(), commentDto);
-        assertThat(comment.getId(), equalTo(1L));
+        assertThat(comment.getId(), notNullValue());
         assertThat(comment.getCreated(), notNullValue());
         assertThat(comment.getAuthorName(), equalTo(user2.getName()));
         assertThat(comment.getText(), equalTo(commentDto.getText()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findAllByOwnerAndSearchByCursorTest() {
+        ItemDto item1 = itemService.create(user1.getId(), itemDto);
+        ItemDto item2 = itemService.create(user1.getId(), ItemDto.builder().name("New item 2").description("Second").available(true).build());
+        itemService.create(user2.getId(), ItemDto.builder().name("New item 3").description("Other owner").available(true).build());
+
+        CursorPage<ItemDtoBooking> firstOwned = itemService.findAllByOwner(user1.getId(), "", 1);
+        CursorPage<ItemDtoBooking> secondOwned = itemService.findAllByOwner(user1.getId(), firstOwned.getNextCursor(), 1);
+        assertThat(firstOwned.getItems().get(0).getId(), equalTo(item1.getId()));
+        assertThat(secondOwned.getItems().get(0).getId(), equalTo(item2.getId()));
+        assertThat(secondOwned.getNextCursor(), nullValue());
+
+        CursorPage<ItemDto> firstFound = itemService.search(user1.getId(), "new item", "", 2);
+        CursorPage<ItemDto> secondFound = itemService.search(user1.getId(), "new item", firstFound.getNextCursor(), 2);
+        assertThat(firstFound.getItems(), equalTo(List.of(item1, item2)));
+        assertThat(secondFound.getItems().size(), equalTo(1));
+        assertThat(secondFound.getNextCursor(), nullValue());
+    }
+
+    @Test
+    public void importItemsFromNdjsonTest() throws IOException {
+        String body = "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true,\"requestId\":" + request.getId() + "}\n"
+                + "\n"
+                + "{\"name\":\"\",\"description\":\"Без названия\",\"available\":true}\n"
+                + "{\"name\":\"Пила\",\"description\":\"Ножовка\",\"available\":true,\"requestId\":" + (request.getId() + 1) + "}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Молоток\",\"description\":\"Слесарный\",\"available\":false}\n";
+        ItemImportResultDto result = itemService.importItems(user1.getId(), MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.getTotal(), equalTo(5L));
+        assertThat(result.getImported(), equalTo(2L));
+        assertThat(result.getFailed(), equalTo(3L));
+        assertThat(result.getErrors().stream().map(error -> error.getLine()).collect(Collectors.toList()),
+                containsInAnyOrder(3L, 4L, 5L));
+        List<ItemDtoBooking> items = List.copyOf(itemService.findAllByOwner(user1.getId(), 0, 10));
+        assertThat(items.size(), equalTo(2));
+        assertThat(items.get(0).getName(), equalTo("Дрель"));
+        assertThat(items.get(0).getRequest(), equalTo(request.getId()));
+        assertThat(items.get(1).getName(), equalTo("Молоток"));
+        assertThat(items.get(1).getAvailable(), equalTo(false));
+        assertThat(itemService.search(user1.getId(), "ударная", 0, 10).size(), equalTo(1));
+    }
+
+    @Test
+    public void importItemsFromCsvTest() throws IOException {
+        String body = "name,description,available,requestId\r\n"
+                + "Дрель,\"Ударная, с \"\"кейсом\"\"\",true,\r\n"
+                + "Пила,\"Ножовка\nпо дереву\",TRUE," + request.getId() + "\r\n"
+                + "Молоток,Слесарный,может быть,\r\n"
+                + "Лестница,,true,\r\n";
+        ItemImportResultDto result = itemService.importItems(user1.getId(), MediaType.valueOf("text/csv"),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        assertThat(result.getTotal(), equalTo(4L));
+        assertThat(result.getImported(), equalTo(2L));
+        assertThat(result.getErrors().stream().map(error -> error.getLine()).collect(Collectors.toList()),
+                equalTo(List.of(5L, 6L)));
+        List<ItemDtoBooking> items = List.copyOf(itemService.findAllByOwner(user1.getId(), 0, 10));
+        assertThat(items.get(0).getDescription(), equalTo("Ударная, с \"кейсом\""));
+        assertThat(items.get(1).getDescription(), equalTo("Ножовка\nпо дереву"));
+        assertThat(items.get(1).getRequest(), equalTo(request.getId()));
+    }
+}
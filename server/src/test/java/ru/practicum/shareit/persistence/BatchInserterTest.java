@@ -0,0 +1,53 @@
+package ru.practicum.shareit.persistence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@DataJpaTest
+@Import(BatchInserter.class)
+public class BatchInserterTest {
+    @Autowired
+    private BatchInserter batchInserter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    public void insertAll() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@test.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@test.ru").build());
+        Item item = itemRepository.save(Item.builder().name("item").description("item").available(true).owner(owner).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i + 1))
+                    .status(BookingStatus.WAITING).build());
+        }
+
+        Assertions.assertEquals(120, batchInserter.insertAll(bookings));
+        Assertions.assertEquals(120, bookingRepository.count());
+        Assertions.assertTrue(bookings.stream().allMatch(booking -> booking.getId() != null));
+        Assertions.assertEquals(owner.getId(), bookingRepository.findAll().get(0).getOwnerId());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+@SpringBootTest(properties = "shareit.cache.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheTest {
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder().name("cached").email("cached@cache.ru").build());
+        item = itemRepository.save(Item.builder().name("Дрель").description("Ударная дрель").available(true).owner(user).build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        commentRepository.deleteAll(commentRepository.findCommentsByItem_Id(item.getId()));
+        itemRepository.delete(item);
+        userRepository.delete(user);
+    }
+
+    @Test
+    public void findByIdIsServedFromCache() {
+        userRepository.findById(user.getId());
+        itemRepository.findById(item.getId());
+        statistics.clear();
+
+        Assertions.assertEquals("cached", userRepository.findById(user.getId()).orElseThrow().getName());
+        Assertions.assertEquals("Дрель", itemRepository.findById(item.getId()).orElseThrow().getName());
+
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("items").getHitCount());
+    }
+
+    @Test
+    public void updateIsVisibleThroughCache() {
+        userRepository.findById(user.getId());
+        user.setName("renamed");
+        userRepository.save(user);
+
+        Assertions.assertEquals("renamed", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    public void commentsQueryIsCachedUntilCommentsChange() {
+        saveComment("Отличная дрель");
+        commentRepository.findCommentsByItem_Id(item.getId());
+        statistics.clear();
+
+        Assertions.assertEquals(1, commentRepository.findCommentsByItem_Id(item.getId()).size());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+
+        saveComment("Сверлит бетон");
+        statistics.clear();
+
+        Assertions.assertEquals(2, commentRepository.findCommentsByItem_Id(item.getId()).size());
+        Assertions.assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    private void saveComment(String text) {
+        commentRepository.save(Comment.builder()
+                .text(text)
+                .item(item)
+                .author(user)
+                .created(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards read endpoints against N+1 selects: the number of JDBC statements an endpoint prepares must not grow when
+ * the page it returns gets more rows.
+ */
+@Transactional
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class StatementCountTest {
+    private final MockMvc mockMvc;
+    private final EntityManager em;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Item firstItem;
+    private int seeded;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("owner").email("owner@count.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@count.ru").build());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "booker, /bookings?state=ALL",
+            "booker, /bookings?state=PAST",
+            "booker, /bookings?state=WAITING",
+            "owner, /bookings/owner?state=ALL",
+            "owner, /bookings/owner?state=PAST",
+            "owner, /items",
+            "owner, /items/{item}",
+            "booker, /items/search?text=дрель",
+            "booker, /requests",
+            "owner, /requests/all"
+    })
+    public void statementCountDoesNotGrowWithRows(String user, String path) throws Exception {
+        seed(3);
+        long few = countStatements(user, path);
+        seed(5);
+        long more = countStatements(user, path);
+        Assertions.assertEquals(few, more, path);
+    }
+
+    private long countStatements(String user, String path) throws Exception {
+        Long userId = "owner".equals(user) ? owner.getId() : booker.getId();
+        em.flush();
+        em.clear();
+        statistics.clear();
+        mockMvc.perform(get(path.replace("{item}", String.valueOf(firstItem.getId())))
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++, seeded++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Нужна дрель " + seeded)
+                    .requestor(booker)
+                    .created(now.minusHours(seeded))
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Дрель " + seeded)
+                    .description("Ударная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            if (firstItem == null) {
+                firstItem = item;
+            }
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.minusDays(10).plusHours(seeded))
+                    .end(now.minusDays(9).plusHours(seeded))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.plusDays(1).plusHours(seeded))
+                    .end(now.plusDays(2).plusHours(seeded))
+                    .status(BookingStatus.WAITING)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("Отличная дрель")
+                    .item(firstItem)
+                    .author(booker)
+                    .created(now)
+                    .build());
+        }
+    }
+}
@@ -7,9 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestAddDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -27,6 +29,7 @@ import java.util.stream.Collectors;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -37,11 +40,11 @@ public class ItemRequestServiceImplTest {
     private final ItemRequestService service;
     private final UserService userService;
     private final ItemService itemService;
-    private final User user1 = new User(1L, "Test1", "test1@email.com");
-    private final User user2 = new User(2L, "Test2", "test2@email.com");
+    private final User user1 = new User(null, "Test1", "test1@email.com");
+    private final User user2 = new User(null, "Test2", "test2@email.com");
     private final ItemRequest itemRequest1 = new ItemRequest();
     private final ItemRequest itemRequest2 = new ItemRequest();
-    private final Item item = new Item(1L, "New item", "Item for test", true, null, null);
+    private final Item item = new Item(null, "New item", "Item for test", true, null, null);
 
     @BeforeEach
     public void restartIdentity() {
@@ -64,13 +67,13 @@ public class ItemRequestServiceImplTest {
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setDescription("Test description");
         ItemRequestAddDto itemRequestAddDto = ItemRequestMapper.toItemRequestAddDto(itemRequest);
-        service.create(1L, itemRequestAddDto);
+        ItemRequestDto created = service.create(createdUser.getId(), itemRequestAddDto);
         TypedQuery<ItemRequest> query = em.createQuery(
                 "select i from ItemRequest i where i.description = :description",
                 ItemRequest.class);
         ItemRequest newItemRequest = query.setParameter("description", itemRequest.getDescription()).getSingleResult();
         assertThat(newItemRequest.getId(), notNullValue());
-        assertThat(newItemRequest.getId(), equalTo(1L));
+        assertThat(newItemRequest.getId(), equalTo(created.getId()));
         assertThat(newItemRequest.getRequestor().getId(), equalTo(createdUser.getId()));
         assertThat(newItemRequest.getCreated(), notNullValue());
         assertThat(newItemRequest.getDescription(), equalTo(itemRequest.getDescription()));
@@ -79,18 +82,18 @@ public class ItemRequestServiceImplTest {
     @Test
     public void findAllByOwnerTest() {
         item.setRequest(itemRequest1);
-        userService.create(UserMapper.toUserDto(user1));
-        userService.create(UserMapper.toUserDto(user2));
-        ItemRequestDto itemRequestDto1 = service.create(1L, ItemRequestMapper.toItemRequestAddDto(itemRequest1));
-        ItemRequestDto itemRequestDto2 = service.create(1L, ItemRequestMapper.toItemRequestAddDto(itemRequest2));
-        itemService.create(2L, ItemMapper.toItemDto(item));
-        Collection<ItemRequestDto> requests = service.findAllByOwner(user1.getId()).stream()
+        UserDto requestor = userService.create(UserMapper.toUserDto(user1));
+        UserDto owner = userService.create(UserMapper.toUserDto(user2));
+        ItemRequestDto itemRequestDto1 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest1));
+        ItemRequestDto itemRequestDto2 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest2));
+        ItemDto createdItem = itemService.create(owner.getId(), ItemMapper.toItemDto(item));
+        Collection<ItemRequestDto> requests = service.findAllByOwner(requestor.getId()).stream()
                 .sorted(Comparator.comparing(ItemRequestDto::getId))
                 .collect(Collectors.toList());
         List<ItemRequestDto> expectedRequests = List.of(itemRequestDto1, itemRequestDto2);
         expectedRequests.forEach(s -> {
             if (s.getId().equals(item.getRequest().getId())) {
-                s.setItems(List.of(ItemMapper.toItemDto(item)));
+                s.setItems(List.of(createdItem));
             }
         });
         expectedRequests = expectedRequests.stream()
@@ -101,35 +104,68 @@ public class ItemRequestServiceImplTest {
         assertThat(requests, equalTo(expectedRequests));
     }
 
+    @Test
+    public void findAllByOwnerWithSeveralItemsPerRequestTest() {
+        UserDto requestor = userService.create(UserMapper.toUserDto(user1));
+        UserDto owner = userService.create(UserMapper.toUserDto(user2));
+        ItemRequestDto itemRequestDto = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest1));
+        ItemDto first = itemService.create(owner.getId(), ItemDto.builder().name("Дрель").description("Ударная")
+                .available(true).requestId(itemRequestDto.getId()).build());
+        ItemDto second = itemService.create(owner.getId(), ItemDto.builder().name("Шуруповёрт").description("Аккумуляторный")
+                .available(true).requestId(itemRequestDto.getId()).build());
+
+        List<ItemRequestDto> requests = List.copyOf(service.findAllByOwner(requestor.getId()));
+
+        assertThat(requests.size(), equalTo(1));
+        assertThat(requests.get(0).getItems().stream()
+                .sorted(Comparator.comparing(ItemDto::getId))
+                .collect(Collectors.toList()), equalTo(List.of(first, second)));
+        assertThat(service.findAllByOwner(owner.getId()).size(), equalTo(0));
+    }
+
     @Test
     public void findAllRequestTest() {
         item.setRequest(itemRequest1);
-        userService.create(UserMapper.toUserDto(user1));
-        userService.create(UserMapper.toUserDto(user2));
-        ItemRequestDto itemRequestDto1 = service.create(1L, ItemRequestMapper.toItemRequestAddDto(itemRequest1));
-        ItemRequestDto itemRequestDto2 = service.create(1L, ItemRequestMapper.toItemRequestAddDto(itemRequest2));
-        itemService.create(2L, ItemMapper.toItemDto(item));
-        Collection<ItemRequestDto> requests = service.findAll(2L, 0, 5);
+        UserDto requestor = userService.create(UserMapper.toUserDto(user1));
+        UserDto owner = userService.create(UserMapper.toUserDto(user2));
+        ItemRequestDto itemRequestDto1 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest1));
+        ItemRequestDto itemRequestDto2 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest2));
+        ItemDto createdItem = itemService.create(owner.getId(), ItemMapper.toItemDto(item));
+        Collection<ItemRequestDto> requests = service.findAll(owner.getId(), 0, 5);
         List<ItemRequestDto> expectedRequests = List.of(itemRequestDto1, itemRequestDto2);
         expectedRequests.forEach(s -> {
             if (s.getId().equals(item.getRequest().getId())) {
-                s.setItems(List.of(ItemMapper.toItemDto(item)));
+                s.setItems(List.of(createdItem));
             }
         });
         assertThat(requests.size(), equalTo(2));
         assertThat(requests, equalTo(expectedRequests));
     }
 
+    @Test
+    public void findAllRequestByCursorTest() {
+        UserDto requestor = userService.create(UserMapper.toUserDto(user1));
+        UserDto other = userService.create(UserMapper.toUserDto(user2));
+        ItemRequestDto itemRequestDto1 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest1));
+        ItemRequestDto itemRequestDto2 = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest2));
+        service.create(other.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest2));
+        CursorPage<ItemRequestDto> first = service.findAll(other.getId(), "", 1);
+        CursorPage<ItemRequestDto> second = service.findAll(other.getId(), first.getNextCursor(), 1);
+        assertThat(first.getItems(), equalTo(List.of(itemRequestDto1)));
+        assertThat(second.getItems(), equalTo(List.of(itemRequestDto2)));
+        assertThat(second.getNextCursor(), nullValue());
+    }
+
     @Test
     public void getRequestByIdTest() {
-        userService.create(UserMapper.toUserDto(user1));
-        userService.create(UserMapper.toUserDto(user2));
-        ItemRequestDto itemRequestDto = service.create(1L, ItemRequestMapper.toItemRequestAddDto(itemRequest1));
+        UserDto requestor = userService.create(UserMapper.toUserDto(user1));
+        UserDto owner = userService.create(UserMapper.toUserDto(user2));
+        ItemRequestDto itemRequestDto = service.create(requestor.getId(), ItemRequestMapper.toItemRequestAddDto(itemRequest1));
         item.setRequest(ItemRequestMapper.toItemRequest(itemRequestDto));
-        itemService.create(2L, ItemMapper.toItemDto(item));
-        ItemRequestDto newItemRequest1 = service.getRequest(1L, 1L);
-        assertThat(newItemRequest1.getId(), equalTo(1L));
-        assertThat(newItemRequest1.getItems(), equalTo(List.of(ItemMapper.toItemDto(item))));
+        ItemDto createdItem = itemService.create(owner.getId(), ItemMapper.toItemDto(item));
+        ItemRequestDto newItemRequest1 = service.getRequest(requestor.getId(), itemRequestDto.getId());
+        assertThat(newItemRequest1.getId(), equalTo(itemRequestDto.getId()));
+        assertThat(newItemRequest1.getItems(), equalTo(List.of(createdItem)));
         assertThat(newItemRequest1.getCreated(), equalTo(itemRequestDto.getCreated()));
         assertThat(newItemRequest1.getDescription(), equalTo("Test request 1"));
     }
@@ -137,6 +173,6 @@ public class ItemRequestServiceImplTest {
     @Test
     void findAll_InvalidUserId() {
 
-        assertThrows(UserNotFoundException.class, () -> service.findAll(1000L, 0, -5));
+        assertThrows(UserNotFoundException.class, () -> service.findAll(Long.MAX_VALUE, 0, -5));
     }
 }
\ No newline at end of file